@@ -0,0 +1,28 @@
+package com.example.ordermanager.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an {@link ApiResponse}, which formats the current time as an ISO timestamp.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiResponseBenchmark {
+
+  private static final String DATA = "data";
+
+  @Benchmark
+  public ApiResponse<String> success() {
+    return ApiResponse.success(DATA);
+  }
+
+  @Benchmark
+  public ApiResponse<String> notFound() {
+    return ApiResponse.notFound("Order not found with id: 42");
+  }
+}
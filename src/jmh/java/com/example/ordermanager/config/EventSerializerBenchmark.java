@@ -0,0 +1,74 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.events.OrderCreated;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes and deserializes an {@code OrderCreated} of 1, 5 and 25 lines for the event
+ * publication registry, in the binary format and as the JSON the registry stored before. The
+ * {@code characters} counter reports the size of one serialized event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class EventSerializerBenchmark {
+
+    @Param({"1", "5", "25"})
+    public int lines;
+
+    @Param({"BINARY", "JSON"})
+    public EventPublicationProperties.Serialization format;
+
+    private BinaryEventSerializer serializer;
+    private OrderCreated event;
+    private Object serialized;
+
+    @Setup
+    public void setUp() {
+        serializer = new BinaryEventSerializer(new ObjectMapper(),
+                format == EventPublicationProperties.Serialization.BINARY);
+        List<LineItemData> lineItems = new ArrayList<>();
+        for (long item = 1; item <= lines; item++) {
+            lineItems.add(new LineItemData(item, (int) item, new BigDecimal("12.50")));
+        }
+        event = new OrderCreated(480_763_289_457_115_136L, lineItems);
+        serialized = serializer.serialize(event);
+    }
+
+    @Benchmark
+    public Object serialize(Size size) {
+        Object result = serializer.serialize(event);
+        size.characters = result.toString().length();
+        return result;
+    }
+
+    @Benchmark
+    public OrderCreated deserialize() {
+        return serializer.deserialize(serialized, OrderCreated.class);
+    }
+
+    /**
+     * Size of the last serialized event, reported next to the timings
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Size {
+
+        public long characters;
+    }
+}
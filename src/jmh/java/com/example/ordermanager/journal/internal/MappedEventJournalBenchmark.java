@@ -0,0 +1,83 @@
+package com.example.ordermanager.journal.internal;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.events.OrderCreated;
+import com.example.ordermanager.events.OrderShipped;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends per microsecond to a {@link MappedEventJournal} in a temporary directory, from 1 and 8
+ * threads, for a small {@code OrderShipped} and a three-line {@code OrderCreated}. Segments roll and
+ * the flusher forces pages to disk every 10ms while the benchmark runs; retention keeps the
+ * directory at 256MB.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MappedEventJournalBenchmark {
+
+  private static final OrderShipped SHIPPED = new OrderShipped(42L);
+  private static final OrderCreated CREATED = new OrderCreated(42L,
+      List.of(new LineItemData(1L, 2, new BigDecimal("10.00")),
+          new LineItemData(2L, 1, new BigDecimal("4.99")),
+          new LineItemData(3L, 5, new BigDecimal("0.25"))));
+
+  private Path directory;
+  private MappedEventJournal journal;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("journal-benchmark");
+    journal = new MappedEventJournal(new JournalProperties(directory, DataSize.ofMegabytes(64),
+        Duration.ofMillis(10),
+        new JournalProperties.Retention(Duration.ofDays(7), DataSize.ofMegabytes(256))));
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    journal.destroy();
+    FileSystemUtils.deleteRecursively(directory);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long shippedOneThread() {
+    return journal.append(SHIPPED);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public long shippedEightThreads() {
+    return journal.append(SHIPPED);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long createdOneThread() {
+    return journal.append(CREATED);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public long createdEightThreads() {
+    return journal.append(CREATED);
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.api.ApiResponse;
+import com.example.ordermanager.customer.Customer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the {@code ApiResponse<Order>} returned by {@code GET /orders/{id}},
+ * with an {@link ObjectMapper} set up the way Spring Boot sets up the one used by MVC.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderResponseJsonBenchmark {
+
+  @Param({"1", "10", "100"})
+  private int lines;
+
+  private ObjectMapper objectMapper;
+  private ApiResponse<Order> response;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    Order order = new Order(new Customer("Benchmark", "bench@example.com"));
+    order.setId(42L);
+    for (int line = 0; line < lines; line++) {
+      order.addLineItem((long) line, 1 + line % 5, BigDecimal.valueOf(1000 + line, 2));
+    }
+    response = ApiResponse.success(order);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+}
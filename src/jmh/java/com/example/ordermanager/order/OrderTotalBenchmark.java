@@ -0,0 +1,50 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.customer.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Order#getTotalAmount()}, which is read on every serialization of an order, against the
+ * stream-reduce over the line items it used to run on every call. Run with {@code -prof gc} to
+ * compare allocations as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderTotalBenchmark {
+
+  @Param({"1", "10", "100"})
+  private int lines;
+
+  private Order order;
+
+  @Setup
+  public void setUp() {
+    order = new Order(new Customer("Benchmark", "bench@example.com"));
+    for (int line = 0; line < lines; line++) {
+      order.addLineItem((long) line, 1 + line % 5, BigDecimal.valueOf(1000 + line, 2));
+    }
+  }
+
+  @Benchmark
+  public BigDecimal totalAmount() {
+    return order.getTotalAmount();
+  }
+
+  @Benchmark
+  public BigDecimal streamReduce() {
+    return order.getLineItems().stream()
+        .map(line -> line.getPrice().multiply(BigDecimal.valueOf(line.getQuantity())))
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+}
@@ -0,0 +1,125 @@
+package com.example.ordermanager.order.internal;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.order.OrderMetricsSnapshot;
+import com.example.ordermanager.order.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.InstantSource;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many event listener threads recording orders into {@link LiveOrderMetrics} at once, with one
+ * dashboard thread reading snapshots, against the same figures kept behind a single lock. Compare
+ * the {@code write} times of the two groups; raise the writer count with {@code -tg 31,1}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Group)
+public class LiveOrderMetricsBenchmark {
+
+  private static final int SKUS = 500;
+  private static final BigDecimal PRICE = new BigDecimal("12.50");
+
+  private LiveOrderMetrics live;
+  private LockedOrderMetrics locked;
+
+  @Setup
+  public void setUp() {
+    live = new LiveOrderMetrics(InstantSource.system());
+    locked = new LockedOrderMetrics();
+  }
+
+  @Benchmark
+  @Group("liveMetrics")
+  @GroupThreads(15)
+  public void liveWrite() {
+    List<LineItemData> lineItems = lineItems();
+    live.orderPlaced(lineItems);
+    live.statusChanged(OrderStatus.PENDING, OrderStatus.SHIPPED);
+  }
+
+  @Benchmark
+  @Group("liveMetrics")
+  @GroupThreads(1)
+  public OrderMetricsSnapshot liveRead() {
+    return live.snapshot(10);
+  }
+
+  @Benchmark
+  @Group("lockedMetrics")
+  @GroupThreads(15)
+  public void lockedWrite() {
+    List<LineItemData> lineItems = lineItems();
+    locked.orderPlaced(lineItems);
+    locked.statusChanged(OrderStatus.PENDING, OrderStatus.SHIPPED);
+  }
+
+  @Benchmark
+  @Group("lockedMetrics")
+  @GroupThreads(1)
+  public Object lockedRead() {
+    return locked.snapshot();
+  }
+
+  private static List<LineItemData> lineItems() {
+    long sku = ThreadLocalRandom.current().nextInt(SKUS);
+    return List.of(new LineItemData(sku, 2, PRICE), new LineItemData(sku + 1, 1, PRICE));
+  }
+
+  /**
+   * The straightforward alternative: plain fields and collections guarded by one monitor, with the
+   * minute window kept as a queue of timestamped amounts.
+   */
+  static class LockedOrderMetrics {
+
+    private final Map<OrderStatus, Long> ordersByStatus = new EnumMap<>(OrderStatus.class);
+    private final Map<Long, Long> quantityBySku = new HashMap<>();
+    private final Deque<long[]> lastMinute = new ArrayDeque<>();
+
+    synchronized void orderPlaced(List<LineItemData> lineItems) {
+      long cents = 0;
+      for (LineItemData lineItem : lineItems) {
+        cents += lineItem.price().movePointRight(2).longValueExact() * lineItem.quantity();
+        quantityBySku.merge(lineItem.inventoryItemId(), (long) lineItem.quantity(), Long::sum);
+      }
+      ordersByStatus.merge(OrderStatus.PENDING, 1L, Long::sum);
+      long now = System.currentTimeMillis();
+      lastMinute.addLast(new long[] {now, cents});
+      while (lastMinute.peekFirst()[0] <= now - 60_000) {
+        lastMinute.removeFirst();
+      }
+    }
+
+    synchronized void statusChanged(OrderStatus from, OrderStatus to) {
+      ordersByStatus.merge(from, -1L, Long::sum);
+      ordersByStatus.merge(to, 1L, Long::sum);
+    }
+
+    synchronized Object snapshot() {
+      long revenue = 0;
+      for (long[] order : lastMinute) {
+        revenue += order[1];
+      }
+      return List.of(new EnumMap<>(ordersByStatus), lastMinute.size(), revenue,
+          quantityBySku.entrySet().stream().sorted(Map.Entry.<Long, Long>comparingByValue()
+              .reversed()).limit(10).toList());
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.example.ordermanager.order.internal;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.events.OrderCreated;
+import com.example.ordermanager.events.OrderStatusUpdated;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.EventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link DefaultOrderEventPublisher} dispatching through a Spring application context. The
+ * listeners only count, so the numbers are Spring's share of publishing an event: wrapping the
+ * payload, resolving the listeners and invoking them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OrderEventPublisherBenchmark {
+
+  private static final List<LineItemData> LINE_ITEMS =
+      List.of(new LineItemData(1L, 2, new BigDecimal("10.00")),
+          new LineItemData(2L, 1, new BigDecimal("25.00")));
+
+  private AnnotationConfigApplicationContext context;
+  private DefaultOrderEventPublisher publisher;
+
+  @Setup
+  public void setUp() {
+    context = new AnnotationConfigApplicationContext(DefaultOrderEventPublisher.class,
+        CountingListener.class);
+    publisher = context.getBean(DefaultOrderEventPublisher.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void publishOrderCreated() {
+    publisher.publishOrderCreated(42L, LINE_ITEMS);
+  }
+
+  @Benchmark
+  public void publishOrderStatusUpdated() {
+    publisher.publishOrderStatusUpdated(42L, "PENDING", "SHIPPED");
+  }
+
+  static class CountingListener {
+
+    private final LongAdder events = new LongAdder();
+
+    @EventListener
+    void on(OrderCreated event) {
+      events.increment();
+    }
+
+    @EventListener
+    void on(OrderStatusUpdated event) {
+      events.increment();
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package com.example.ordermanager.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records two latencies per request, in nanoseconds:
+ * <ul>
+ *   <li><em>service time</em>, from the moment the request was actually sent until its response
+ *   arrived, which is what most load tools report;</li>
+ *   <li><em>response time</em>, from the moment the request <em>should</em> have been sent according
+ *   to the schedule. When the application stalls, requests queue up behind it in the generator and
+ *   their wait shows up here rather than silently disappearing, which corrects for coordinated
+ *   omission.</li>
+ * </ul>
+ * Unpaced closed loop runs have no schedule, so their response times equal service times; the report
+ * then corrects the service time histogram after the fact, assuming each user would have sent its next
+ * request one mean service time later.
+ */
+class LatencyRecorder {
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final Map<Operation, Histogram> serviceTimes = new EnumMap<>(Operation.class);
+  private final Map<Operation, Histogram> responseTimes = new EnumMap<>(Operation.class);
+  private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+  LatencyRecorder() {
+    for (Operation operation : Operation.values()) {
+      serviceTimes.put(operation, new ConcurrentHistogram(3));
+      responseTimes.put(operation, new ConcurrentHistogram(3));
+      errors.put(operation, new LongAdder());
+    }
+  }
+
+  void record(Operation operation, long intendedStart, long sent, long completed, boolean success) {
+    serviceTimes.get(operation).recordValue(completed - sent);
+    responseTimes.get(operation).recordValue(completed - intendedStart);
+    if (!success) {
+      errors.get(operation).increment();
+    }
+  }
+
+  void report(LoadOptions options, PrintStream out) throws IOException {
+    boolean scheduled = options.mode() == LoadOptions.Mode.OPEN || options.rate() > 0;
+    double seconds = options.duration().toNanos() / 1e9;
+
+    Histogram totalService = new Histogram(3);
+    Histogram totalResponse = new Histogram(3);
+    long totalErrors = 0;
+    for (Operation operation : Operation.values()) {
+      totalService.add(serviceTimes.get(operation));
+      totalResponse.add(responseTimes.get(operation));
+      totalErrors += errors.get(operation).sum();
+    }
+
+    out.println();
+    out.printf("%s loop, %s, %s recorded after %s warmup, mix %s%n",
+        options.mode() == LoadOptions.Mode.OPEN ? "Open" : "Closed", describeLoad(options),
+        format(options.duration()), format(options.warmup()), describeMix(options));
+    out.printf("Throughput %,.1f req/s, %,d errors%n", totalService.getTotalCount() / seconds,
+        totalErrors);
+
+    out.println();
+    out.println("Service time (ms), from send to response:");
+    printHeader(out);
+    for (Operation operation : Operation.values()) {
+      printRow(out, operation.key(), serviceTimes.get(operation), errors.get(operation).sum(),
+          seconds);
+    }
+    printRow(out, "total", totalService, totalErrors, seconds);
+
+    out.println();
+    if (scheduled) {
+      out.println("Response time (ms), from intended start to response, corrected for coordinated "
+          + "omission:");
+    } else {
+      out.printf("Service time (ms) corrected for coordinated omission, expected interval %.3f ms:%n",
+          totalService.getMean() / NANOS_PER_MILLI);
+    }
+    printHeader(out);
+    Map<Operation, Histogram> corrected = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      corrected.put(operation, scheduled ? responseTimes.get(operation)
+          : correct(serviceTimes.get(operation), totalService));
+      printRow(out, operation.key(), corrected.get(operation), errors.get(operation).sum(), seconds);
+    }
+    Histogram totalCorrected = scheduled ? totalResponse : correct(totalService, totalService);
+    printRow(out, "total", totalCorrected, totalErrors, seconds);
+
+    if (options.output() != null) {
+      Files.createDirectories(options.output());
+      for (Operation operation : Operation.values()) {
+        write(options.output().resolve(operation.key() + "-service.hgrm"), serviceTimes.get(operation));
+        write(options.output().resolve(operation.key() + "-corrected.hgrm"), corrected.get(operation));
+      }
+      write(options.output().resolve("total-service.hgrm"), totalService);
+      write(options.output().resolve("total-corrected.hgrm"), totalCorrected);
+      out.println();
+      out.println("Percentile distributions written to " + options.output().toAbsolutePath());
+    }
+  }
+
+  private static Histogram correct(Histogram histogram, Histogram total) {
+    return histogram.copyCorrectedForCoordinatedOmission((long) total.getMean());
+  }
+
+  private static void printHeader(PrintStream out) {
+    out.printf("  %-8s %9s %7s %9s %9s %9s %9s %9s %9s%n", "", "count", "errors", "req/s", "p50",
+        "p90", "p99", "p99.9", "max");
+  }
+
+  private static void printRow(PrintStream out, String name, Histogram histogram, long errors,
+      double seconds) {
+    if (histogram.getTotalCount() == 0) {
+      return;
+    }
+    out.printf("  %-8s %,9d %,7d %,9.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n", name,
+        histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+        millis(histogram, 50.0), millis(histogram, 90.0), millis(histogram, 99.0),
+        millis(histogram, 99.9), histogram.getMaxValue() / NANOS_PER_MILLI);
+  }
+
+  private static double millis(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+  }
+
+  private static void write(Path file, Histogram histogram) throws IOException {
+    try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+      histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+    }
+  }
+
+  private static String describeLoad(LoadOptions options) {
+    if (options.mode() == LoadOptions.Mode.OPEN) {
+      return options.rate() + " req/s";
+    }
+    return options.concurrency() + " users"
+        + (options.rate() > 0 ? " paced to " + options.rate() + " req/s" : ", unpaced");
+  }
+
+  private static String describeMix(LoadOptions options) {
+    StringBuilder mix = new StringBuilder();
+    for (Operation operation : Operation.values()) {
+      int weight = options.mix().getOrDefault(operation, 0);
+      if (weight > 0) {
+        mix.append(mix.isEmpty() ? "" : ",").append(operation.key()).append(':').append(weight);
+      }
+    }
+    return mix.toString();
+  }
+
+  private static String format(Duration duration) {
+    return duration.toMillis() % 1000 == 0 ? duration.toSeconds() + "s" : duration.toMillis() + "ms";
+  }
+}
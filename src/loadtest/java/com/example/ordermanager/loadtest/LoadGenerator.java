@@ -0,0 +1,237 @@
+package com.example.ordermanager.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a running application with a mix of order requests and reports HdrHistogram latency
+ * percentiles. Start the application first, then:
+ *
+ * <pre>
+ * mvn -Ploadtest verify -Dloadtest.args="--mode=open --rate=500 --duration=60s"
+ * </pre>
+ *
+ * <p>Requests run on virtual threads, so neither loop is limited by the generator's own threads: the
+ * open loop sends each request at its scheduled time however many are still outstanding, and the
+ * closed loop runs exactly {@code --concurrency} users.
+ */
+public final class LoadGenerator {
+
+  private static final int INVENTORY_ITEMS = 10;
+  private static final int ITEM_STOCK = 1_000_000_000;
+  private static final int RECENT_ORDERS = 4096;
+
+  private final LoadOptions options;
+  private final OrderApiClient client;
+  private final LatencyRecorder recorder = new LatencyRecorder();
+  private final RecentOrders recentOrders = new RecentOrders(RECENT_ORDERS);
+  // Orders waiting for their next valid status, invalid transitions are rejected
+  private final Queue<Long> toShip = new ConcurrentLinkedQueue<>();
+  private final Queue<Long> toDeliver = new ConcurrentLinkedQueue<>();
+  private final ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+  private final List<Long> inventoryItemIds = new ArrayList<>();
+  private Long customerId;
+
+  private LoadGenerator(LoadOptions options) {
+    this.options = options;
+    this.client = new OrderApiClient(options.baseUrl());
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadOptions options;
+    try {
+      options = LoadOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(LoadOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+    new LoadGenerator(options).run();
+  }
+
+  private void run() throws Exception {
+    if (!client.isUp()) {
+      throw new IllegalStateException("No healthy application at " + options.baseUrl()
+          + ", start it with mvn spring-boot:run");
+    }
+    seed();
+
+    long start = System.nanoTime();
+    long recordFrom = start + options.warmup().toNanos();
+    long end = recordFrom + options.duration().toNanos();
+    System.out.printf("Warming up for %,d ms, then recording for %,d ms%n",
+        options.warmup().toMillis(), options.duration().toMillis());
+
+    if (options.mode() == LoadOptions.Mode.OPEN) {
+      runOpenLoop(start, recordFrom, end);
+    } else {
+      runClosedLoop(start, recordFrom, end);
+    }
+    requests.shutdown();
+    if (!requests.awaitTermination(1, TimeUnit.MINUTES)) {
+      System.err.println("Some requests were still outstanding a minute after the run ended");
+    }
+    recorder.report(options, System.out);
+    requests.shutdownNow();
+  }
+
+  private void seed() {
+    customerId = client.createCustomer("Load Test", "loadtest@example.com");
+    if (customerId == null) {
+      throw new IllegalStateException("Could not create the load test customer");
+    }
+    for (int i = 1; i <= INVENTORY_ITEMS; i++) {
+      Long id = client.createInventoryItem("Load test item " + i, ITEM_STOCK);
+      if (id == null) {
+        throw new IllegalStateException("Could not create load test inventory item " + i);
+      }
+      inventoryItemIds.add(id);
+    }
+    for (int i = 0; i < options.seedOrders(); i++) {
+      Long id = client.createOrder(customerId, inventoryItemIds);
+      if (id == null) {
+        throw new IllegalStateException("Could not create seed order " + (i + 1));
+      }
+      recentOrders.add(id);
+      toShip.add(id);
+    }
+    System.out.printf("Seeded customer %d, %d inventory items and %d orders%n", customerId,
+        inventoryItemIds.size(), options.seedOrders());
+  }
+
+  /**
+   * Sends request {@code i} at {@code start + i / rate} regardless of how many earlier requests are
+   * still waiting for their response, so a stalled application sees the same arrival rate a real
+   * client population would keep producing.
+   */
+  private void runOpenLoop(long start, long recordFrom, long end) {
+    long interval = TimeUnit.SECONDS.toNanos(1) / options.rate();
+    for (long i = 0; ; i++) {
+      long intendedStart = start + i * interval;
+      if (intendedStart >= end) {
+        return;
+      }
+      waitUntil(intendedStart);
+      requests.execute(() -> execute(intendedStart, recordFrom));
+    }
+  }
+
+  /**
+   * Runs {@code --concurrency} users that each send their next request once the previous response
+   * arrived. With {@code --rate} every user keeps to its share of the rate, and a late response
+   * delays the schedule of the following requests rather than resetting it.
+   */
+  private void runClosedLoop(long start, long recordFrom, long end) throws InterruptedException {
+    long interval = options.rate() > 0
+        ? TimeUnit.SECONDS.toNanos(options.concurrency()) / options.rate() : 0;
+    List<Thread> users = new ArrayList<>(options.concurrency());
+    for (int user = 0; user < options.concurrency(); user++) {
+      // Stagger paced users across one interval instead of sending in lock step
+      long firstStart = start + (interval * user) / options.concurrency();
+      users.add(Thread.ofVirtual().name("loadtest-user-" + user).start(() -> {
+        long intendedStart = firstStart;
+        while (intendedStart < end) {
+          if (interval > 0) {
+            waitUntil(intendedStart);
+          } else {
+            intendedStart = System.nanoTime();
+          }
+          execute(intendedStart, recordFrom);
+          intendedStart += interval;
+        }
+      }));
+    }
+    for (Thread user : users) {
+      user.join();
+    }
+  }
+
+  private void execute(long intendedStart, long recordFrom) {
+    Operation operation = options.nextOperation();
+    long sent = System.nanoTime();
+    boolean success = perform(operation);
+    long completed = System.nanoTime();
+    if (intendedStart >= recordFrom) {
+      recorder.record(operation, intendedStart, sent, completed, success);
+    }
+  }
+
+  private boolean perform(Operation operation) {
+    return switch (operation) {
+      case CREATE -> {
+        Long id = client.createOrder(customerId, inventoryItemIds);
+        if (id != null) {
+          recentOrders.add(id);
+          toShip.add(id);
+        }
+        yield id != null;
+      }
+      case GET -> client.getOrder(recentOrders.pick());
+      case STATUS -> advanceStatus();
+      case LIST -> client.listOrders();
+    };
+  }
+
+  /**
+   * Delivers a shipped order, or ships a pending one. Once both run dry, which only happens when the
+   * mix updates statuses faster than it creates orders, a random order is shipped again and the
+   * rejected transition counts as an error.
+   */
+  private boolean advanceStatus() {
+    Long id = toDeliver.poll();
+    if (id != null) {
+      return client.updateStatus(id, "DELIVERED");
+    }
+    id = toShip.poll();
+    if (id == null) {
+      return client.updateStatus(recentOrders.pick(), "SHIPPED");
+    }
+    boolean shipped = client.updateStatus(id, "SHIPPED");
+    if (shipped) {
+      toDeliver.add(id);
+    }
+    return shipped;
+  }
+
+  private static void waitUntil(long nanoTime) {
+    long remaining;
+    while ((remaining = nanoTime - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+
+  /**
+   * Ring of the most recently created order ids that reads and status updates pick from.
+   */
+  private static final class RecentOrders {
+
+    private final AtomicLongArray ids;
+    private final AtomicLong added = new AtomicLong();
+
+    RecentOrders(int capacity) {
+      this.ids = new AtomicLongArray(capacity);
+    }
+
+    void add(long id) {
+      ids.set((int) (added.getAndIncrement() % ids.length()), id);
+    }
+
+    long pick() {
+      int size = (int) Math.min(added.get(), ids.length());
+      if (size == 0) {
+        throw new IllegalStateException("No orders to pick from yet");
+      }
+      return ids.get(ThreadLocalRandom.current().nextInt(size));
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.example.ordermanager.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Command line options of a load run, given as {@code --name=value}.
+ *
+ * @param baseUrl where the application listens
+ * @param mode open loop issues requests at a fixed arrival rate whether or not earlier ones have
+ *     completed; closed loop runs a fixed number of users that each wait for their response
+ * @param rate target requests per second; required for open loop, paces the users of a closed loop
+ *     when positive
+ * @param concurrency number of users in closed loop
+ * @param warmup how long to drive load before recording
+ * @param duration how long to record
+ * @param mix relative weight of each operation
+ * @param seedOrders orders created up front so reads and status updates have something to hit
+ * @param output directory to write one {@code .hgrm} percentile distribution per operation to, or
+ *     {@code null} to only print the summary
+ */
+record LoadOptions(URI baseUrl, Mode mode, int rate, int concurrency, Duration warmup,
+    Duration duration, Map<Operation, Integer> mix, int seedOrders, Path output) {
+
+  enum Mode {
+    OPEN, CLOSED
+  }
+
+  static final String USAGE = """
+      Options (all optional):
+        --base-url=http://localhost:9000
+        --mode=open|closed           fixed arrival rate, or a fixed number of users (default open)
+        --rate=200                   requests/s; open loop target (default 200), closed loop
+                                     pacing (default 0, unpaced)
+        --concurrency=16             closed loop users
+        --warmup=10s --duration=30s  e.g. 500ms, 30s, 2m
+        --mix=create:20,get:50,status:10,list:20
+        --seed-orders=100
+        --output=target/loadtest     write <operation>.hgrm percentile distributions
+      """;
+
+  LoadOptions {
+    if (mode == Mode.OPEN && rate <= 0) {
+      throw new IllegalArgumentException("Open loop needs --rate > 0");
+    }
+    if (mode == Mode.CLOSED && concurrency <= 0) {
+      throw new IllegalArgumentException("Closed loop needs --concurrency > 0");
+    }
+    if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+      throw new IllegalArgumentException("--mix needs at least one operation with a positive weight");
+    }
+    if (seedOrders <= 0
+        && (mix.getOrDefault(Operation.GET, 0) > 0 || mix.getOrDefault(Operation.STATUS, 0) > 0)) {
+      throw new IllegalArgumentException("get and status need --seed-orders > 0 to pick orders from");
+    }
+    mix = Map.copyOf(mix);
+  }
+
+  static LoadOptions parse(String... args) {
+    URI baseUrl = URI.create("http://localhost:9000");
+    Mode mode = Mode.OPEN;
+    Integer rate = null;
+    int concurrency = 16;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(30);
+    Map<Operation, Integer> mix = parseMix("create:20,get:50,status:10,list:20");
+    int seedOrders = 100;
+    Path output = null;
+
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+      }
+      String value = arg.substring(separator + 1);
+      switch (arg.substring(2, separator)) {
+        case "base-url" -> baseUrl = URI.create(value.endsWith("/")
+            ? value.substring(0, value.length() - 1) : value);
+        case "mode" -> mode = Mode.valueOf(value.toUpperCase());
+        case "rate" -> rate = Integer.parseInt(value);
+        case "concurrency" -> concurrency = Integer.parseInt(value);
+        case "warmup" -> warmup = parseDuration(value);
+        case "duration" -> duration = parseDuration(value);
+        case "mix" -> mix = parseMix(value);
+        case "seed-orders" -> seedOrders = Integer.parseInt(value);
+        case "output" -> output = Path.of(value);
+        default -> throw new IllegalArgumentException("Unknown option '" + arg + "'");
+      }
+    }
+    if (rate == null) {
+      rate = mode == Mode.OPEN ? 200 : 0;
+    }
+    return new LoadOptions(baseUrl, mode, rate, concurrency, warmup, duration, mix, seedOrders,
+        output);
+  }
+
+  /**
+   * Picks an operation with probability proportional to its weight in the mix.
+   */
+  Operation nextOperation() {
+    int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+    int pick = ThreadLocalRandom.current().nextInt(total);
+    for (Operation operation : Operation.values()) {
+      pick -= mix.getOrDefault(operation, 0);
+      if (pick < 0) {
+        return operation;
+      }
+    }
+    throw new IllegalStateException("Mix weights changed while picking");
+  }
+
+  private static Map<Operation, Integer> parseMix(String value) {
+    Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    for (String entry : value.split(",")) {
+      String[] parts = entry.trim().split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Expected operation:weight but got '" + entry + "'");
+      }
+      int weight = Integer.parseInt(parts[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Weight of " + parts[0] + " must not be negative");
+      }
+      mix.put(Operation.of(parts[0].trim()), weight);
+    }
+    return mix;
+  }
+
+  private static Duration parseDuration(String value) {
+    if (value.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+    }
+    long amount = Long.parseLong(value.substring(0, value.length() - 1));
+    return switch (value.charAt(value.length() - 1)) {
+      case 's' -> Duration.ofSeconds(amount);
+      case 'm' -> Duration.ofMinutes(amount);
+      default -> throw new IllegalArgumentException("Expected a duration like 500ms, 30s or 2m but got '"
+          + value + "'");
+    };
+  }
+}
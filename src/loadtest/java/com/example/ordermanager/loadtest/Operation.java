@@ -0,0 +1,39 @@
+package com.example.ordermanager.loadtest;
+
+/**
+ * The requests a load run mixes together.
+ */
+enum Operation {
+
+  /** {@code POST /orders} with a couple of line items. */
+  CREATE("create"),
+
+  /** {@code GET /orders/{id}} for a previously created order. */
+  GET("get"),
+
+  /** {@code PUT /orders/{id}/status} moving a previously created order one step on. */
+  STATUS("status"),
+
+  /** {@code GET /orders} for the first page. */
+  LIST("list");
+
+  private final String key;
+
+  Operation(String key) {
+    this.key = key;
+  }
+
+  String key() {
+    return key;
+  }
+
+  static Operation of(String key) {
+    for (Operation operation : values()) {
+      if (operation.key.equalsIgnoreCase(key)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Unknown operation '" + key + "', expected one of "
+        + "create, get, status, list");
+  }
+}
@@ -0,0 +1,130 @@
+package com.example.ordermanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Thin blocking client for the endpoints a load run exercises. A call counts as failed when the
+ * request could not be sent, the status is not 2xx or the {@code ApiResponse} body is not a success.
+ */
+class OrderApiClient {
+
+  private final URI baseUrl;
+  private final HttpClient http;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  OrderApiClient(URI baseUrl) {
+    this.baseUrl = baseUrl;
+    this.http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+  }
+
+  Long createCustomer(String name, String email) {
+    return idOf(send(post("/customers", Map.of("name", name, "email", email))));
+  }
+
+  Long createInventoryItem(String name, int stock) {
+    return idOf(send(post("/inventory",
+        Map.of("name", name, "description", "Load test item", "stock", stock))));
+  }
+
+  /**
+   * Places an order for one or two of the given items and returns its id, or {@code null} when the
+   * order was not created.
+   */
+  Long createOrder(Long customerId, List<Long> inventoryItemIds) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    List<Map<String, Object>> items = random.ints(1 + random.nextInt(2), 0, inventoryItemIds.size())
+        .distinct()
+        .mapToObj(i -> Map.<String, Object>of("inventoryItemId", inventoryItemIds.get(i),
+            "quantity", 1 + random.nextInt(3)))
+        .toList();
+    return idOf(send(post("/orders", Map.of("customerId", customerId, "items", items))));
+  }
+
+  boolean getOrder(Long id) {
+    return send(HttpRequest.newBuilder(uri("/orders/" + id)).GET().build()) != null;
+  }
+
+  boolean updateStatus(Long id, String status) {
+    return send(HttpRequest.newBuilder(uri("/orders/" + id + "/status"))
+        .header("Content-Type", "application/json")
+        .PUT(body(Map.of("status", status)))
+        .build()) != null;
+  }
+
+  boolean listOrders() {
+    return send(HttpRequest.newBuilder(uri("/orders?limit=20")).GET().build()) != null;
+  }
+
+  boolean isUp() {
+    try {
+      HttpResponse<Void> response = http.send(
+          HttpRequest.newBuilder(uri("/actuator/health")).GET().build(),
+          HttpResponse.BodyHandlers.discarding());
+      return response.statusCode() == 200;
+    } catch (IOException e) {
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private HttpRequest post(String path, Object payload) {
+    return HttpRequest.newBuilder(uri(path))
+        .header("Content-Type", "application/json")
+        .POST(body(payload))
+        .build();
+  }
+
+  private HttpRequest.BodyPublisher body(Object payload) {
+    try {
+      return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot serialize " + payload, e);
+    }
+  }
+
+  private URI uri(String path) {
+    return URI.create(baseUrl + path);
+  }
+
+  /**
+   * Returns the {@code data} of a successful response, or {@code null} when the call failed.
+   */
+  private JsonNode send(HttpRequest request) {
+    try {
+      HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+      if (response.statusCode() / 100 != 2) {
+        return null;
+      }
+      JsonNode body = objectMapper.readTree(response.body());
+      return body.path("success").asBoolean() ? body.path("data") : null;
+    } catch (IOException e) {
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  // Order ids come as strings, the other ids as numbers; asLong reads both
+  private static Long idOf(JsonNode data) {
+    return data == null || !data.hasNonNull("id") ? null : data.get("id").asLong();
+  }
+}
@@ -2,10 +2,8 @@ package com.example.ordermanager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication
-@EnableAsync
 public class OrderManagerApplication {
 
 	public static void main(String[] args) {
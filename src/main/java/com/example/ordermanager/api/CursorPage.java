@@ -0,0 +1,74 @@
+package com.example.ordermanager.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Pages are fetched with {@code WHERE id > ? ORDER BY id
+ * LIMIT ?}, so neither deep pages nor the total count cost extra queries.
+ *
+ * @param <T> The type of the listed items
+ * @param items The items on this page, ordered by id
+ * @param nextCursor Opaque cursor to pass as {@code after} for the next page, {@code null} on the
+ *        last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+  /**
+   * Page size used when the client does not ask for one
+   */
+  public static final String DEFAULT_LIMIT = "50";
+
+  /**
+   * Largest page size a client may ask for
+   */
+  public static final int MAX_LIMIT = 500;
+
+  /**
+   * Builds a page from a query that fetched up to {@code limit + 1} rows. The extra row only tells
+   * that there is a next page and is not returned.
+   */
+  public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+    if (rows.size() <= limit) {
+      return new CursorPage<>(rows, null);
+    }
+    List<T> items = rows.subList(0, limit);
+    return new CursorPage<>(items, encode(idExtractor.apply(items.get(limit - 1))));
+  }
+
+  /**
+   * Turns a cursor back into the id to continue after, {@link Long#MIN_VALUE} for the first page
+   *
+   * @throws IllegalArgumentException if the cursor was not produced by this class
+   */
+  public static long decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return Long.MIN_VALUE;
+    }
+    try {
+      return Long.parseLong(
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+    }
+  }
+
+  /**
+   * Checks a client supplied page size
+   *
+   * @throws IllegalArgumentException if the limit is not between 1 and {@link #MAX_LIMIT}
+   */
+  public static int checkLimit(int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+    }
+    return limit;
+  }
+
+  private static String encode(long id) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+  }
+}
@@ -0,0 +1,200 @@
+package com.example.ordermanager.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limit on concurrent requests that adapts to their latency, following the gradient approach:
+ * the average latency of each window of requests is compared with a slowly moving baseline. While
+ * it stays within {@code tolerance} of the baseline the limit grows by a share of its square root
+ * per window; as latency climbs beyond that the limit shrinks in proportion, by at most half per
+ * window before smoothing. Requests that fail with a server error cut the limit by a tenth right
+ * away, the way AIMD backs off on a loss.
+ * <p>
+ * Windows beyond the tolerance move the baseline up at a tenth of the usual rate. Otherwise a
+ * slowdown that lasts about one baseline period would become the new baseline and the limit would
+ * grow back while the database is still struggling; this way it takes about ten periods.
+ * <p>
+ * Windows in which fewer than half of the limit were in use leave it alone, so a quiet period does
+ * not inflate the limit and a few slow requests at low load do not shrink it.
+ * <ul>
+ * <li>{@code orders.concurrency.limit}: requests admitted at once right now</li>
+ * <li>{@code orders.concurrency.in-flight}: requests admitted and not finished</li>
+ * <li>{@code orders.concurrency.rejected}: requests turned away at the limit</li>
+ * </ul>
+ */
+public class AdaptiveConcurrencyLimit implements MeterBinder {
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double CONGESTED_BASELINE_RATE = 0.1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final double baselineWeight;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int limit;
+
+    private final Object lock = new Object();
+    private double estimatedLimit;
+    private double baselineNanos;
+    private long windowStart;
+    private long windowNanosSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimit(ConcurrencyLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(ConcurrencyLimitProperties properties, LongSupplier nanoClock) {
+        Assert.isTrue(0 < properties.minLimit() && properties.minLimit() <= properties.initialLimit()
+                        && properties.initialLimit() <= properties.maxLimit(),
+                "Limits must satisfy 0 < min-limit <= initial-limit <= max-limit");
+        Assert.isTrue(properties.tolerance() >= 1, "Tolerance must be at least 1");
+        Assert.isTrue(properties.smoothing() > 0 && properties.smoothing() <= 1,
+                "Smoothing must be above 0 and at most 1");
+        Assert.isTrue(properties.baseline().compareTo(properties.window()) >= 0,
+                "Baseline must be at least one window");
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.tolerance = properties.tolerance();
+        this.smoothing = properties.smoothing();
+        this.windowNanos = properties.window().toNanos();
+        // Exponential moving average over as many windows as fit in the baseline period
+        this.baselineWeight = 2.0 / (properties.baseline().dividedBy(properties.window()) + 1);
+        this.nanoClock = nanoClock;
+        this.limit = properties.initialLimit();
+        this.estimatedLimit = properties.initialLimit();
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    /**
+     * Admits a request if fewer than the limit are in flight
+     *
+     * @return The permit to release once the request has completed, {@code null} if it was rejected
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(nanoClock.getAsLong(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private void onCompleted(Permit permit, boolean failed) {
+        long now = nanoClock.getAsLong();
+        inFlight.decrementAndGet();
+        synchronized (lock) {
+            if (failed) {
+                setLimit(estimatedLimit * DROP_BACKOFF);
+                return;
+            }
+            windowNanosSum += now - permit.acquired;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, permit.inFlight);
+            if (windowSamples < MIN_WINDOW_SAMPLES || now - windowStart < windowNanos) {
+                return;
+            }
+            double latency = (double) windowNanosSum / windowSamples;
+            boolean saturated = windowMaxInFlight >= estimatedLimit / 2;
+            windowStart = now;
+            windowNanosSum = 0;
+            windowSamples = 0;
+            windowMaxInFlight = 0;
+            update(latency, saturated);
+        }
+    }
+
+    private void update(double latency, boolean saturated) {
+        if (baselineNanos == 0) {
+            baselineNanos = latency;
+        } else if (latency > tolerance * baselineNanos) {
+            // Congested: only a slowdown that persists for many baseline periods is accepted
+            baselineNanos += (latency - baselineNanos) * baselineWeight * CONGESTED_BASELINE_RATE;
+        } else {
+            baselineNanos += (latency - baselineNanos) * baselineWeight;
+        }
+        if (baselineNanos > 2 * latency) {
+            // Latency fell well below the baseline, let the baseline catch up faster than the
+            // moving average would, or the limit keeps growing long after the recovery
+            baselineNanos *= 0.95;
+        }
+        if (!saturated) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1, tolerance * baselineNanos / latency));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setLimit(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private void setLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("Order writes admitted at once").register(registry);
+        Gauge.builder("orders.concurrency.in-flight", this, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Order writes admitted and not finished").register(registry);
+        FunctionCounter.builder("orders.concurrency.rejected", this,
+                        AdaptiveConcurrencyLimit::getRejected)
+                .description("Order writes rejected at the concurrency limit").register(registry);
+    }
+
+    /**
+     * One admitted request
+     */
+    public final class Permit {
+
+        private final long acquired;
+        private final int inFlight;
+
+        private Permit(long acquired, int inFlight) {
+            this.acquired = acquired;
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * Frees the slot and feeds the request's latency into the limit
+         *
+         * @param failed Whether the request failed on the server side, which backs the limit off
+         */
+        public void release(boolean failed) {
+            onCompleted(this, failed);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.ordermanager.config;
 
+import com.example.ordermanager.events.EventListenerConcurrency;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -10,23 +13,94 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import java.util.concurrent.Executor;
 
 @Configuration
-@EnableAsync
+@EnableAsync(proxyTargetClass = true)
+@EnableConfigurationProperties(AsyncProperties.class)
 public class AsyncConfig implements AsyncConfigurer {
 
+    private static final String THREAD_NAME_PREFIX = "event-processor-";
+
+    private final AsyncProperties properties;
+
+    public AsyncConfig(AsyncProperties properties) {
+        this.properties = properties;
+    }
+
     @Override
     @Bean(name = "applicationEventExecutor")
     public Executor getAsyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(4);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("event-processor-");
-        executor.initialize();
-        return executor;
+        return new InstrumentedExecutor(createExecutor(properties), queueCapacity(properties));
+    }
+
+    /**
+     * Lets the {@code @Async} listeners for order events run on the lane of their order in
+     * {@link AsyncProperties.Mode#KEYED} mode. Static because it is needed before the other beans.
+     */
+    @Bean
+    static OrderEventListenerFactory orderEventListenerFactory() {
+        return new OrderEventListenerFactory();
+    }
+
+    /**
+     * The listener threads of the executor above: the lanes in {@link AsyncProperties.Mode#KEYED}
+     * mode, the core pool in {@link AsyncProperties.Mode#PLATFORM} mode, whose extra threads only
+     * start once the queue is full, and the concurrency limit in
+     * {@link AsyncProperties.Mode#VIRTUAL} mode.
+     */
+    @Bean
+    EventListenerConcurrency eventListenerConcurrency() {
+        int listenerThreads = switch (properties.mode()) {
+            case PLATFORM -> properties.platform().corePoolSize();
+            case VIRTUAL -> properties.virtual().concurrencyLimit() > 0
+                    ? properties.virtual().concurrencyLimit() : Integer.MAX_VALUE;
+            case KEYED -> laneCount(properties.keyed());
+        };
+        return () -> listenerThreads;
     }
 
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new CustomAsyncExceptionHandler();
     }
-}
\ No newline at end of file
+
+    static Executor createExecutor(AsyncProperties properties) {
+        return switch (properties.mode()) {
+            case PLATFORM -> platformExecutor(properties.platform());
+            case VIRTUAL -> virtualExecutor(properties.virtual());
+            case KEYED -> keyedExecutor(properties.keyed());
+        };
+    }
+
+    private static int queueCapacity(AsyncProperties properties) {
+        return switch (properties.mode()) {
+            case PLATFORM -> properties.platform().queueCapacity();
+            case VIRTUAL -> 0;
+            case KEYED -> laneCount(properties.keyed()) * properties.keyed().queueCapacity();
+        };
+    }
+
+    private static ThreadPoolTaskExecutor platformExecutor(AsyncProperties.Platform platform) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(platform.corePoolSize());
+        executor.setMaxPoolSize(platform.maxPoolSize());
+        executor.setQueueCapacity(platform.queueCapacity());
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.initialize();
+        return executor;
+    }
+
+    private static SimpleAsyncTaskExecutor virtualExecutor(AsyncProperties.Virtual virtual) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        executor.setVirtualThreads(true);
+        // Threads are free, database connections are not
+        executor.setConcurrencyLimit(virtual.concurrencyLimit());
+        return executor;
+    }
+
+    private static KeyedExecutor keyedExecutor(AsyncProperties.Keyed keyed) {
+        return new KeyedExecutor(laneCount(keyed), keyed.queueCapacity(), THREAD_NAME_PREFIX);
+    }
+
+    private static int laneCount(AsyncProperties.Keyed keyed) {
+        return keyed.lanes() > 0 ? keyed.lanes() : Runtime.getRuntime().availableProcessors();
+    }
+}
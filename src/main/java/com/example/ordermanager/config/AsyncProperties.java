@@ -0,0 +1,50 @@
+package com.example.ordermanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the {@code applicationEventExecutor} that runs the {@code @Async} event listeners.
+ *
+ * @param mode Which kind of threads run the listeners
+ * @param platform Pool settings used in {@link Mode#PLATFORM} mode
+ * @param virtual Settings used in {@link Mode#VIRTUAL} mode
+ * @param keyed Settings used in {@link Mode#KEYED} mode
+ */
+@ConfigurationProperties("order-manager.async")
+public record AsyncProperties(@DefaultValue("KEYED") Mode mode,
+        @DefaultValue Platform platform, @DefaultValue Virtual virtual, @DefaultValue Keyed keyed) {
+
+    public enum Mode {
+        /** A bounded pool of platform threads with a bounded queue */
+        PLATFORM,
+        /** One virtual thread per listener invocation, capped by a concurrency limit */
+        VIRTUAL,
+        /**
+         * Single-threaded lanes picked by order id: events for one order are handled in publication
+         * order, events for different orders in parallel
+         */
+        KEYED
+    }
+
+    public record Platform(@DefaultValue("4") int corePoolSize,
+            @DefaultValue("10") int maxPoolSize, @DefaultValue("100") int queueCapacity) {
+    }
+
+    /**
+     * @param concurrencyLimit Maximum number of listeners running at once. Listeners mostly wait on
+     *        JDBC, so this should not exceed the connection pool size. Submitting threads block
+     *        while the limit is reached.
+     */
+    public record Virtual(@DefaultValue("10") int concurrencyLimit) {
+    }
+
+    /**
+     * @param lanes Number of single-threaded lanes, the number of available processors when not
+     *        positive
+     * @param queueCapacity Tasks each lane may queue before further tasks are rejected. A batch of
+     *        orders queues one task per order and listener right after its commit.
+     */
+    public record Keyed(@DefaultValue("0") int lanes, @DefaultValue("1000") int queueCapacity) {
+    }
+}
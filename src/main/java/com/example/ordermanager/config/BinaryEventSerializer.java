@@ -0,0 +1,258 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.events.OrderCancelled;
+import com.example.ordermanager.events.OrderCreated;
+import com.example.ordermanager.events.OrderDelivered;
+import com.example.ordermanager.events.OrderShipped;
+import com.example.ordermanager.events.OrderStatusUpdated;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.modulith.events.core.EventSerializer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Serializes the order events for the event publication registry in a compact binary form and
+ * everything else as JSON. The registry stores text, so the bytes are Base64-encoded behind a
+ * {@code #}, which no JSON document starts with; rows without it are read as JSON, including all
+ * rows written before this serializer was introduced.
+ * <p>
+ * A binary event starts with a format version and a type tag, followed by the fields in
+ * declaration order: ids and quantities as unsigned varints, prices as zig-zag varint scale and
+ * unscaled value, strings as varint length and UTF-8. Events with a field that does not fit, a
+ * price beyond 64 bits or any missing value, are written as JSON instead. When the layout of an event
+ * changes, add a new {@link #VERSION} and keep decoding the old one, rows written by the previous
+ * release may still be waiting for their listener.
+ */
+public class BinaryEventSerializer implements EventSerializer {
+
+    static final char BINARY_PREFIX = '#';
+    static final byte VERSION = 1;
+
+    private static final byte ORDER_CREATED = 1;
+    private static final byte ORDER_STATUS_UPDATED = 2;
+    private static final byte ORDER_SHIPPED = 3;
+    private static final byte ORDER_DELIVERED = 4;
+    private static final byte ORDER_CANCELLED = 5;
+
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final boolean writeBinary;
+
+    /**
+     * @param objectMapper Writes and reads the events that are not written in binary
+     * @param writeBinary Whether to write the order events in binary; binary rows are read either way
+     */
+    public BinaryEventSerializer(ObjectMapper objectMapper, boolean writeBinary) {
+        this.objectMapper = objectMapper;
+        this.writeBinary = writeBinary;
+    }
+
+    @Override
+    public Object serialize(Object event) {
+        if (writeBinary) {
+            byte[] encoded = encode(event);
+            if (encoded != null) {
+                return BINARY_PREFIX + BASE64_ENCODER.encodeToString(encoded);
+            }
+        }
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(Object serialized, Class<T> type) {
+        String value = serialized.toString();
+        if (value.isEmpty() || value.charAt(0) != BINARY_PREFIX) {
+            try {
+                return objectMapper.readerFor(type).readValue(value);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot deserialize " + type.getName(), e);
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(BASE64_DECODER.decode(value.substring(1)));
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unknown event format version " + version);
+        }
+        Object event = decode(buffer.get(), buffer);
+        if (!type.isInstance(event)) {
+            throw new IllegalStateException(
+                    "Expected " + type.getName() + " but found " + event.getClass().getName());
+        }
+        return type.cast(event);
+    }
+
+    /**
+     * @return The encoded event, or {@code null} if it has to be written as JSON
+     */
+    private static byte[] encode(Object event) {
+        Output out = new Output();
+        out.write(VERSION);
+        switch (event) {
+            case OrderCreated created -> {
+                if (created.orderId() == null || created.lineItemsData() == null) {
+                    return null;
+                }
+                out.write(ORDER_CREATED);
+                out.writeVarLong(created.orderId());
+                out.writeVarLong(created.lineItemsData().size());
+                for (LineItemData lineItem : created.lineItemsData()) {
+                    BigDecimal price = lineItem.price();
+                    BigInteger unscaled = price == null ? null : price.unscaledValue();
+                    if (lineItem.inventoryItemId() == null || unscaled == null
+                            || unscaled.bitLength() >= Long.SIZE) {
+                        return null;
+                    }
+                    out.writeVarLong(lineItem.inventoryItemId());
+                    out.writeVarLong(lineItem.quantity());
+                    out.writeVarLong(zigZag(price.scale()));
+                    out.writeVarLong(zigZag(unscaled.longValue()));
+                }
+            }
+            case OrderStatusUpdated updated -> {
+                if (updated.orderId() == null || updated.oldStatus() == null
+                        || updated.newStatus() == null) {
+                    return null;
+                }
+                out.write(ORDER_STATUS_UPDATED);
+                out.writeVarLong(updated.orderId());
+                out.writeString(updated.oldStatus());
+                out.writeString(updated.newStatus());
+            }
+            case OrderShipped shipped -> {
+                if (shipped.orderId() == null) {
+                    return null;
+                }
+                out.write(ORDER_SHIPPED);
+                out.writeVarLong(shipped.orderId());
+            }
+            case OrderDelivered delivered -> {
+                if (delivered.orderId() == null) {
+                    return null;
+                }
+                out.write(ORDER_DELIVERED);
+                out.writeVarLong(delivered.orderId());
+            }
+            case OrderCancelled cancelled -> {
+                if (cancelled.orderId() == null || cancelled.reason() == null) {
+                    return null;
+                }
+                out.write(ORDER_CANCELLED);
+                out.writeVarLong(cancelled.orderId());
+                out.writeString(cancelled.reason());
+            }
+            default -> {
+                return null;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static Object decode(byte type, ByteBuffer in) {
+        long orderId = readVarLong(in);
+        return switch (type) {
+            case ORDER_CREATED -> {
+                int count = Math.toIntExact(readVarLong(in));
+                List<LineItemData> lineItems = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    long inventoryItemId = readVarLong(in);
+                    int quantity = (int) readVarLong(in);
+                    int scale = (int) unZigZag(readVarLong(in));
+                    long unscaled = unZigZag(readVarLong(in));
+                    lineItems.add(new LineItemData(inventoryItemId, quantity,
+                            BigDecimal.valueOf(unscaled, scale)));
+                }
+                yield new OrderCreated(orderId, lineItems);
+            }
+            case ORDER_STATUS_UPDATED ->
+                    new OrderStatusUpdated(orderId, readString(in), readString(in));
+            case ORDER_SHIPPED -> new OrderShipped(orderId);
+            case ORDER_DELIVERED -> new OrderDelivered(orderId);
+            case ORDER_CANCELLED -> new OrderCancelled(orderId, readString(in));
+            default -> throw new IllegalStateException("Unknown event type " + type);
+        };
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = Math.toIntExact(readVarLong(in));
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length,
+                StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * Growable byte array, sized for a typical order so that most events never copy.
+     */
+    private static final class Output {
+
+        private byte[] bytes = new byte[64];
+        private int size;
+
+        void write(byte b) {
+            ensureCapacity(1);
+            bytes[size++] = b;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ordermanager.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Caffeine caches configured through {@code spring.cache.*}, wrapped so that puts and evictions
+ * issued inside a transaction only apply once it commits; an eviction applied before the commit
+ * would let the next lookup cache the old row right away.
+ * <p>
+ * That does not close every race. A lookup that reads a row just before a write commits, and
+ * puts it after the write's eviction, caches the old row until it expires. The caches therefore
+ * only hold immutable copies of data that rarely changes, such as customer names and item
+ * descriptions, and never stock.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        String spec = properties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            caffeine.setCacheSpecification(spec);
+        }
+        // Fixed cache names create the caches up front, so their metrics are bound at startup
+        if (!properties.getCacheNames().isEmpty()) {
+            caffeine.setCacheNames(properties.getCacheNames());
+        }
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
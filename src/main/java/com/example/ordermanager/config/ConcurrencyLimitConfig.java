@@ -0,0 +1,34 @@
+package com.example.ordermanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Puts the {@link ConcurrencyLimitFilter} in front of the order endpoints. The filter is always
+ * registered and switched on or off through {@code order-manager.concurrency-limit.enabled}, so
+ * the setting also applies to an ahead-of-time processed build.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    AdaptiveConcurrencyLimit orderConcurrencyLimit(ConcurrencyLimitProperties properties) {
+        return new AdaptiveConcurrencyLimit(properties);
+    }
+
+    @Bean
+    FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimit orderConcurrencyLimit, ObjectMapper objectMapper,
+            ConcurrencyLimitProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(orderConcurrencyLimit, objectMapper,
+                        properties.retryAfter()));
+        registration.addUrlPatterns("/orders", "/orders/*");
+        registration.setEnabled(properties.enabled());
+        return registration;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.api.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Sheds order writes beyond the {@link AdaptiveConcurrencyLimit}: {@code POST} and {@code PUT}
+ * requests under {@code /orders} are rejected with {@code 503 Service Unavailable} and a
+ * {@code Retry-After} header right away, before they reach the controller and wait for a database
+ * connection. Reads and every other endpoint, including {@code /health}, are never limited.
+ * <p>
+ * Unlike the controllers, which report errors in the body of a {@code 200}, the rejection carries
+ * its status in the HTTP response as well, so that load balancers and clients back off. For the
+ * same reason a request counts as failed if either its status or its {@link ApiResponse} says so,
+ * as marked by the {@link ServerErrorResponseAdvice}.
+ */
+class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String ORDERS = "/orders";
+    private static final UrlPathHelper PATHS = new UrlPathHelper();
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+
+    ConcurrencyLimitFilter(AdaptiveConcurrencyLimit limit, ObjectMapper objectMapper,
+            Duration retryAfter) {
+        this.limit = limit;
+        this.objectMapper = objectMapper;
+        // Retry-After takes whole seconds
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!HttpMethod.POST.matches(method) && !HttpMethod.PUT.matches(method)) {
+            return true;
+        }
+        String path = PATHS.getPathWithinApplication(request);
+        return !(path.equals(ORDERS) || path.startsWith(ORDERS + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain chain) throws ServletException, IOException {
+        AdaptiveConcurrencyLimit.Permit permit = limit.tryAcquire();
+        if (permit == null) {
+            reject(response);
+            return;
+        }
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = ServerErrorResponseAdvice.isServerError(request, response);
+        } finally {
+            permit.release(failed);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "Too many concurrent order requests, retry later"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ordermanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the {@link AdaptiveConcurrencyLimit} in front of the order writes.
+ *
+ * @param enabled Whether order creation and status updates go through the limit
+ * @param initialLimit Concurrent requests admitted until the first latency measurements come in
+ * @param minLimit The limit never drops below this, however slow the requests get
+ * @param maxLimit The limit never grows beyond this, however fast the requests are
+ * @param tolerance How much slower than the baseline requests may get before the limit shrinks,
+ *        {@code 1.5} allows 50%
+ * @param smoothing Share of each new estimate that goes into the limit, lower values react slower
+ *        and steadier
+ * @param window Latency is averaged over this long, and at least 10 requests, per limit update
+ * @param baseline Period the baseline latency is averaged over, it follows changes that last
+ *        about this long; slowdowns beyond the tolerance take about ten times as long
+ * @param retryAfter Sent as {@code Retry-After} with a rejection
+ */
+@ConfigurationProperties("order-manager.concurrency-limit")
+public record ConcurrencyLimitProperties(@DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit, @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit, @DefaultValue("1.5") double tolerance,
+        @DefaultValue("0.2") double smoothing, @DefaultValue("100ms") Duration window,
+        @DefaultValue("1m") Duration baseline, @DefaultValue("1s") Duration retryAfter) {
+}
@@ -0,0 +1,34 @@
+package com.example.ordermanager.config;
+
+/**
+ * The listener invocation currently being handed to the {@code applicationEventExecutor}. Set by
+ * the listener adapters of {@link OrderEventListenerFactory} on the publishing thread and read
+ * there by the executor, which routes by {@link #key()} in keyed mode and tags its metrics with
+ * the listener and event.
+ *
+ * @param key Order id the invocation is ordered by
+ * @param listener Listener method as {@code SimpleClassName.method}
+ * @param event Simple name of the event type
+ */
+record EventDispatch(Object key, String listener, String event) {
+
+    private static final ThreadLocal<EventDispatch> CURRENT = new ThreadLocal<>();
+
+    static EventDispatch current() {
+        return CURRENT.get();
+    }
+
+    static void runWith(EventDispatch dispatch, Runnable action) {
+        EventDispatch previous = CURRENT.get();
+        CURRENT.set(dispatch);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
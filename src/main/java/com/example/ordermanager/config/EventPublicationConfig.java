@@ -0,0 +1,78 @@
+package com.example.ordermanager.config;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.modulith.events.CompletedEventPublications;
+import org.springframework.modulith.events.IncompleteEventPublications;
+import org.springframework.modulith.events.core.EventPublicationRepository;
+import org.springframework.modulith.events.core.EventSerializer;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Keeps the event publication registry working as an outbox: publications whose listener failed
+ * or never ran, for instance because the application stopped right after the order was
+ * committed, are handed to their listener again, and completed publications are deleted so the
+ * table only holds recent history.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(EventPublicationProperties.class)
+public class EventPublicationConfig implements SchedulingConfigurer {
+
+    private final IncompleteEventPublications incompletePublications;
+    private final CompletedEventPublications completedPublications;
+    private final EventPublicationProperties properties;
+
+    public EventPublicationConfig(IncompleteEventPublications incompletePublications,
+            CompletedEventPublications completedPublications,
+            EventPublicationProperties properties) {
+        this.incompletePublications = incompletePublications;
+        this.completedPublications = completedPublications;
+        this.properties = properties;
+    }
+
+    /**
+     * Makes each resubmission run read one batch of the oldest incomplete publications instead of
+     * all of them. Static because the registry, which this configuration depends on, needs it.
+     */
+    @Bean
+    @Primary
+    static EventPublicationRepository pagedEventPublicationRepository(
+            @Qualifier("jpaEventPublicationRepository") EventPublicationRepository repository,
+            EntityManager entityManager, EventSerializer serializer,
+            EventPublicationProperties properties) {
+        return new PagedEventPublicationRepository(repository, entityManager, serializer,
+                properties.republish().batchSize());
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        EventPublicationProperties.Republish republish = properties.republish();
+        registrar.addFixedDelayTask(new FixedDelayTask(this::resubmitIncompletePublications,
+                republish.interval(), republish.interval()));
+        EventPublicationProperties.Purge purge = properties.purge();
+        registrar.addFixedDelayTask(new FixedDelayTask(this::purgeCompletedPublications,
+                purge.interval(), purge.interval()));
+    }
+
+    /**
+     * Hands the oldest batch of incomplete publications older than the cutoff to their listeners
+     * again. The listeners are asynchronous, so this only queues them; publications still
+     * incomplete come up again once a later run reaches them.
+     */
+    public void resubmitIncompletePublications() {
+        incompletePublications.resubmitIncompletePublicationsOlderThan(
+                properties.republish().olderThan());
+    }
+
+    public void purgeCompletedPublications() {
+        completedPublications.deletePublicationsOlderThan(properties.purge().olderThan());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ordermanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the background maintenance of the event publication registry.
+ *
+ * @param republish Retrying publications whose listener has not completed
+ * @param purge Deleting completed publications
+ * @param serialization How new publications store their event
+ */
+@ConfigurationProperties("order-manager.events")
+public record EventPublicationProperties(@DefaultValue Republish republish,
+        @DefaultValue Purge purge, @DefaultValue("BINARY") Serialization serialization) {
+
+    /**
+     * Format of the events written to the registry. Both are always read, so switching between
+     * them keeps existing publications readable.
+     */
+    public enum Serialization {
+        /**
+         * Order events in the compact {@link BinaryEventSerializer} format, others as JSON
+         */
+        BINARY,
+        /**
+         * Every event as JSON
+         */
+        JSON
+    }
+
+    /**
+     * @param interval Delay between two runs
+     * @param olderThan Only publications at least this old are retried. Younger ones may still be
+     *        queued for or running in their listener, so this must stay well above the time an
+     *        event can wait in a full event lane.
+     * @param batchSize Most publications read and handed to the listeners per run, so a backlog
+     *        left by an outage drains gradually instead of overflowing the event executor
+     */
+    public record Republish(@DefaultValue("1m") Duration interval,
+            @DefaultValue("10m") Duration olderThan, @DefaultValue("100") int batchSize) {
+    }
+
+    /**
+     * @param interval Delay between two runs
+     * @param olderThan Completed publications at least this old are deleted
+     */
+    public record Purge(@DefaultValue("10m") Duration interval,
+            @DefaultValue("1h") Duration olderThan) {
+    }
+}
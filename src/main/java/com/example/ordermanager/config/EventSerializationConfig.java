@@ -0,0 +1,24 @@
+package com.example.ordermanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.modulith.events.core.EventSerializer;
+
+/**
+ * Replaces the JSON serializer of the event publication registry with {@link BinaryEventSerializer}.
+ * Spring Modulith registers its own serializer unconditionally, so this one takes precedence as
+ * the primary bean.
+ */
+@Configuration(proxyBeanMethods = false)
+public class EventSerializationConfig {
+
+    @Bean
+    @Primary
+    EventSerializer binaryEventSerializer(ObjectMapper objectMapper,
+            EventPublicationProperties properties) {
+        return new BinaryEventSerializer(objectMapper,
+                properties.serialization() == EventPublicationProperties.Serialization.BINARY);
+    }
+}
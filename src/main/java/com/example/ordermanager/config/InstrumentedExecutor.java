@@ -0,0 +1,134 @@
+package com.example.ordermanager.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the executor behind the {@code @Async} event listeners, whichever
+ * {@link AsyncProperties.Mode} it runs in.
+ * <ul>
+ * <li>{@code events.listener.wait} and {@code events.listener.execution}: time each listener
+ * invocation spent queued and running, tagged with {@code listener} and {@code event}</li>
+ * <li>{@code events.executor.active}: listener invocations running right now</li>
+ * <li>{@code events.executor.queued}: invocations submitted but not started yet</li>
+ * <li>{@code events.executor.queue.capacity}: how many may be queued before submissions are
+ * rejected, absent in {@link AsyncProperties.Mode#VIRTUAL} mode where submitters block
+ * instead</li>
+ * <li>{@code events.executor.rejected}: submissions the executor turned down</li>
+ * </ul>
+ */
+class InstrumentedExecutor implements Executor, MeterBinder, DisposableBean {
+
+    private static final String UNKNOWN = "unknown";
+
+    private final Executor delegate;
+    private final int queueCapacity;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Map<String, ListenerTimers> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    /**
+     * @param queueCapacity Capacity of the delegate's queue, {@code 0} if it has none
+     */
+    InstrumentedExecutor(Executor delegate, int queueCapacity) {
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        EventDispatch dispatch = EventDispatch.current();
+        long submitted = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            delegate.execute(() -> run(task, dispatch, submitted));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task, EventDispatch dispatch, long submitted) {
+        long started = System.nanoTime();
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            active.decrementAndGet();
+            ListenerTimers listenerTimers = timersFor(dispatch);
+            if (listenerTimers != null) {
+                listenerTimers.queued().record(started - submitted, TimeUnit.NANOSECONDS);
+                listenerTimers.execution().record(System.nanoTime() - started,
+                        TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private ListenerTimers timersFor(EventDispatch dispatch) {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) {
+            return null;
+        }
+        String listener = dispatch != null ? dispatch.listener() : UNKNOWN;
+        String event = dispatch != null ? dispatch.event() : UNKNOWN;
+        return timers.computeIfAbsent(listener + '#' + event, name -> new ListenerTimers(
+                timer(meterRegistry, "events.listener.wait",
+                        "Time listener invocations waited for a thread", listener, event),
+                timer(meterRegistry, "events.listener.execution",
+                        "Time listener invocations took to run", listener, event)));
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String description,
+            String listener, String event) {
+        return Timer.builder(name).description(description).tag("listener", listener)
+                .tag("event", event).publishPercentileHistogram().register(registry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("events.executor.active", active, AtomicInteger::get)
+                .description("Event listener invocations running").register(registry);
+        Gauge.builder("events.executor.queued", queued, AtomicInteger::get)
+                .description("Event listener invocations waiting for a thread").register(registry);
+        if (queueCapacity > 0) {
+            Gauge.builder("events.executor.queue.capacity", () -> queueCapacity)
+                    .description("Event listener invocations that may wait before rejection")
+                    .register(registry);
+        }
+        FunctionCounter.builder("events.executor.rejected", rejected, AtomicLong::get)
+                .description("Event listener invocations the executor rejected")
+                .register(registry);
+        if (delegate instanceof MeterBinder binder) {
+            binder.bindTo(registry);
+        }
+        this.registry = registry;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean bean) {
+            bean.destroy();
+        } else if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private record ListenerTimers(Timer queued, Timer execution) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.ordermanager.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks on a fixed number of single-threaded lanes. Tasks submitted under the same
+ * {@link EventDispatch#key()} always land on the same lane, so they run one at a time and in submission
+ * order, while tasks for different keys run in parallel. Tasks without a key are spread over the
+ * lanes round-robin.
+ */
+class KeyedExecutor implements Executor, MeterBinder, DisposableBean {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ThreadPoolExecutor[] lanes;
+    private final AtomicInteger nextUnkeyedLane = new AtomicInteger();
+
+    KeyedExecutor(int laneCount, int queueCapacity, String threadNamePrefix) {
+        Assert.isTrue(laneCount > 0, "Lane count must be positive");
+        Assert.isTrue(queueCapacity > 0, "Queue capacity must be positive");
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity), threadFactory);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        EventDispatch dispatch = EventDispatch.current();
+        Object key = dispatch != null ? dispatch.key() : null;
+        int lane = key != null ? laneFor(key)
+                : Math.floorMod(nextUnkeyedLane.getAndIncrement(), lanes.length);
+        try {
+            lanes[lane].execute(task);
+        } catch (RejectedExecutionException e) {
+            throw new TaskRejectedException("Event lane " + lane + " did not accept task", e);
+        }
+    }
+
+    int laneFor(Object key) {
+        // Order ids keep time in their high bits and a sequence that is mostly 0 in their low bits,
+        // so the hash is mixed (the MurmurHash3 finalizer) before it picks a lane
+        long hash = key.hashCode();
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) Math.floorMod(hash ^ (hash >>> 33), (long) lanes.length);
+    }
+
+    int laneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * A single hot order can fill its lane while the others idle, so queue depth is also
+     * published per lane as {@code events.executor.lane.queued}
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < lanes.length; i++) {
+            Gauge.builder("events.executor.lane.queued", lanes[i], lane -> lane.getQueue().size())
+                    .description("Event listener invocations waiting in one lane")
+                    .tag("lane", Integer.toString(i)).register(registry);
+        }
+    }
+
+    /**
+     * Drops the queued tasks and interrupts the running ones instead of letting them run on into a
+     * persistence layer that is shutting down. Their publications stay incomplete in the event
+     * publication registry, which resubmits them after the next start.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdownNow();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
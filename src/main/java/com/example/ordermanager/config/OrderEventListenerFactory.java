@@ -0,0 +1,88 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.events.OrderEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ApplicationListenerMethodAdapter;
+import org.springframework.context.event.EventListenerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.event.TransactionalApplicationListenerMethodAdapter;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Creates the adapters for listener methods that take an {@link OrderEvent}. While such a method
+ * is invoked, the current {@link EventDispatch} names the listener, the event and its order id;
+ * that is exactly when the {@code @Async} interceptor hands the call to the executor, so a
+ * {@link KeyedExecutor} can route by order id and {@link InstrumentedExecutor} can time the
+ * listener without the listeners knowing about it.
+ */
+class OrderEventListenerFactory implements EventListenerFactory, Ordered {
+
+    @Override
+    public int getOrder() {
+        // Ahead of TransactionalEventListenerFactory (50) and DefaultEventListenerFactory
+        return 40;
+    }
+
+    @Override
+    public boolean supportsMethod(Method method) {
+        return method.getParameterCount() == 1
+                && OrderEvent.class.isAssignableFrom(method.getParameterTypes()[0]);
+    }
+
+    @Override
+    public ApplicationListener<?> createApplicationListener(String beanName, Class<?> type,
+            Method method) {
+        if (AnnotatedElementUtils.hasAnnotation(method, TransactionalEventListener.class)) {
+            return new KeyedTransactionalListener(beanName, type, method);
+        }
+        return new KeyedListener(beanName, type, method);
+    }
+
+    private static String listenerName(Method method) {
+        return ClassUtils.getShortName(method.getDeclaringClass()) + "." + method.getName();
+    }
+
+    private static EventDispatch dispatchOf(String listener, ApplicationEvent event) {
+        Object payload = event instanceof PayloadApplicationEvent<?> payloadEvent
+                ? payloadEvent.getPayload() : event;
+        Object key = payload instanceof OrderEvent orderEvent ? orderEvent.orderId() : null;
+        return new EventDispatch(key, listener, payload.getClass().getSimpleName());
+    }
+
+    private static class KeyedListener extends ApplicationListenerMethodAdapter {
+
+        private final String listener;
+
+        KeyedListener(String beanName, Class<?> targetClass, Method method) {
+            super(beanName, targetClass, method);
+            this.listener = listenerName(method);
+        }
+
+        @Override
+        public void processEvent(ApplicationEvent event) {
+            EventDispatch.runWith(dispatchOf(listener, event), () -> super.processEvent(event));
+        }
+    }
+
+    private static class KeyedTransactionalListener
+            extends TransactionalApplicationListenerMethodAdapter {
+
+        private final String listener;
+
+        KeyedTransactionalListener(String beanName, Class<?> targetClass, Method method) {
+            super(beanName, targetClass, method);
+            this.listener = listenerName(method);
+        }
+
+        @Override
+        public void processEvent(ApplicationEvent event) {
+            EventDispatch.runWith(dispatchOf(listener, event), () -> super.processEvent(event));
+        }
+    }
+}
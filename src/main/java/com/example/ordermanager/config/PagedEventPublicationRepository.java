@@ -0,0 +1,159 @@
+package com.example.ordermanager.config;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.modulith.events.core.EventPublicationRepository;
+import org.springframework.modulith.events.core.EventSerializer;
+import org.springframework.modulith.events.core.PublicationTargetIdentifier;
+import org.springframework.modulith.events.core.TargetEventPublication;
+import org.springframework.util.Assert;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lets the resubmission of incomplete publications work through a backlog one page at a time.
+ * Spring Modulith looks up the publications to resubmit with
+ * {@link #findIncompletePublicationsPublishedBefore(Instant)}, which its JPA repository answers by
+ * loading and deserializing every match; after an outage that is the whole backlog, on every run.
+ * This decorator answers that lookup with a query limited to the {@code pageSize} oldest matches and
+ * hands everything else to the JPA repository.
+ */
+class PagedEventPublicationRepository implements EventPublicationRepository {
+
+    // The entity and attributes of Spring Modulith's incomplete publications
+    private static final String INCOMPLETE_BEFORE = "select p.id, p.listenerId, p.eventType, "
+            + "p.serializedEvent, p.publicationDate from DefaultJpaEventPublication p "
+            + "where p.completionDate is null and p.publicationDate < :before "
+            + "order by p.publicationDate";
+
+    private final EventPublicationRepository delegate;
+    private final EntityManager entityManager;
+    private final EventSerializer serializer;
+    private final int pageSize;
+
+    PagedEventPublicationRepository(EventPublicationRepository delegate,
+            EntityManager entityManager, EventSerializer serializer, int pageSize) {
+        Assert.isTrue(pageSize > 0, "Page size must be positive");
+        this.delegate = delegate;
+        this.entityManager = entityManager;
+        this.serializer = serializer;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @return The {@code pageSize} oldest incomplete publications published before {@code instant}
+     */
+    @Override
+    public List<TargetEventPublication> findIncompletePublicationsPublishedBefore(Instant instant) {
+        return entityManager.createQuery(INCOMPLETE_BEFORE, Object[].class)
+                .setParameter("before", instant).setMaxResults(pageSize).getResultList().stream()
+                .map(this::toPublication).toList();
+    }
+
+    private TargetEventPublication toPublication(Object[] row) {
+        Object event = serializer.deserialize(row[3], (Class<?>) row[2]);
+        return new StoredPublication((UUID) row[0], event,
+                PublicationTargetIdentifier.of((String) row[1]), (Instant) row[4]);
+    }
+
+    @Override
+    public TargetEventPublication create(TargetEventPublication publication) {
+        return delegate.create(publication);
+    }
+
+    @Override
+    public void markCompleted(Object event, PublicationTargetIdentifier identifier,
+            Instant completionDate) {
+        delegate.markCompleted(event, identifier, completionDate);
+    }
+
+    @Override
+    public void markCompleted(UUID identifier, Instant completionDate) {
+        delegate.markCompleted(identifier, completionDate);
+    }
+
+    @Override
+    public List<TargetEventPublication> findIncompletePublications() {
+        return delegate.findIncompletePublications();
+    }
+
+    @Override
+    public Optional<TargetEventPublication> findIncompletePublicationsByEventAndTargetIdentifier(
+            Object event, PublicationTargetIdentifier targetIdentifier) {
+        return delegate.findIncompletePublicationsByEventAndTargetIdentifier(event,
+                targetIdentifier);
+    }
+
+    @Override
+    public List<TargetEventPublication> findCompletedPublications() {
+        return delegate.findCompletedPublications();
+    }
+
+    @Override
+    public void deletePublications(List<UUID> identifiers) {
+        delegate.deletePublications(identifiers);
+    }
+
+    @Override
+    public void deleteCompletedPublications() {
+        delegate.deleteCompletedPublications();
+    }
+
+    @Override
+    public void deleteCompletedPublicationsBefore(Instant instant) {
+        delegate.deleteCompletedPublicationsBefore(instant);
+    }
+
+    /**
+     * An incomplete publication read back from its row. It keeps the row's identifier, which the
+     * registry completes it by.
+     */
+    private static final class StoredPublication implements TargetEventPublication {
+
+        private final UUID identifier;
+        private final Object event;
+        private final PublicationTargetIdentifier targetIdentifier;
+        private final Instant publicationDate;
+        private volatile Instant completionDate;
+
+        StoredPublication(UUID identifier, Object event,
+                PublicationTargetIdentifier targetIdentifier, Instant publicationDate) {
+            this.identifier = identifier;
+            this.event = event;
+            this.targetIdentifier = targetIdentifier;
+            this.publicationDate = publicationDate;
+        }
+
+        @Override
+        public UUID getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public Object getEvent() {
+            return event;
+        }
+
+        @Override
+        public PublicationTargetIdentifier getTargetIdentifier() {
+            return targetIdentifier;
+        }
+
+        @Override
+        public Instant getPublicationDate() {
+            return publicationDate;
+        }
+
+        @Override
+        public Optional<Instant> getCompletionDate() {
+            return Optional.ofNullable(completionDate);
+        }
+
+        @Override
+        public void markCompleted(Instant instant) {
+            this.completionDate = instant;
+        }
+    }
+}
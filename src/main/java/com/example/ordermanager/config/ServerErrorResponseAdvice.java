@@ -0,0 +1,56 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.api.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks requests whose controller answered with a server error {@link ApiResponse}. The controllers
+ * report errors in the body of a {@code 200}, so filters that run after the response was written,
+ * like the {@link ConcurrencyLimitFilter}, cannot tell a failure from the HTTP status; they check
+ * the {@link #SERVER_ERROR} request attribute instead.
+ */
+@ControllerAdvice
+class ServerErrorResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * Request attribute set to {@code true} once a server error response was written
+     */
+    static final String SERVER_ERROR = ServerErrorResponseAdvice.class.getName() + ".SERVER_ERROR";
+
+    @Override
+    public boolean supports(MethodParameter returnType,
+            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ApiResponse<?> apiResponse
+                && apiResponse.getCode() >= HttpStatus.INTERNAL_SERVER_ERROR.value()
+                && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(SERVER_ERROR, Boolean.TRUE);
+        }
+        return body;
+    }
+
+    /**
+     * Whether the request was answered with a server error, in the HTTP status or in the body
+     */
+    static boolean isServerError(HttpServletRequest request, HttpServletResponse response) {
+        return response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()
+                || Boolean.TRUE.equals(request.getAttribute(SERVER_ERROR));
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.ordermanager.customer;
 
 import com.example.ordermanager.api.ApiResponse;
+import com.example.ordermanager.api.CursorPage;
+import org.springframework.data.domain.Limit;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -14,8 +16,18 @@ class CustomerController {
   }
 
   @GetMapping
-  ApiResponse<Iterable<Customer>> getAllCustomers() {
-    return ApiResponse.success(customers.findAll());
+  ApiResponse<CursorPage<Customer>> getAllCustomers(@RequestParam(required = false) String after,
+      @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+    long afterId;
+    try {
+      afterId = CursorPage.decode(after);
+      CursorPage.checkLimit(limit);
+    } catch (IllegalArgumentException e) {
+      return ApiResponse.badRequest(e.getMessage());
+    }
+    return ApiResponse.success(CursorPage.of(
+        customers.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1)), limit,
+        Customer::getId));
   }
 
   @PostMapping
@@ -1,7 +1,20 @@
 package com.example.ordermanager.customer;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CustomerManagement {
+
+  /**
+   * Looks up a customer through the customer cache. Each call returns a detached instance of its
+   * own.
+   */
   Optional<Customer> findById(Long id);
+
+  /**
+   * Looks up all given customers, querying only those missing from the customer cache with a
+   * single query. Unknown ids are simply missing from the result.
+   */
+  Map<Long, Customer> findAllById(Collection<Long> ids);
 }
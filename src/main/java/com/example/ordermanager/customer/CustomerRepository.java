@@ -1,6 +1,37 @@
 package com.example.ordermanager.customer;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.List;
+
+/**
+ * Writes evict the customer from the {@value #CACHE} cache that {@link CustomerManagement} lookups
+ * read through.
+ */
 public interface CustomerRepository extends CrudRepository<Customer, Long> {
+
+  String CACHE = "customers";
+
+  /**
+   * Keyset page: {@code WHERE id > ? ORDER BY id LIMIT ?}
+   */
+  List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  @Override
+  @CacheEvict(cacheNames = CACHE, key = "#result.id")
+  <S extends Customer> S save(S customer);
+
+  @Override
+  @CacheEvict(cacheNames = CACHE, allEntries = true)
+  <S extends Customer> Iterable<S> saveAll(Iterable<S> customers);
+
+  @Override
+  @CacheEvict(cacheNames = CACHE)
+  void deleteById(Long id);
+
+  @Override
+  @CacheEvict(cacheNames = CACHE, key = "#customer.id")
+  void delete(Customer customer);
 }
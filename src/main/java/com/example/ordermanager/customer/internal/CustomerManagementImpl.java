@@ -10,20 +10,33 @@ import com.example.ordermanager.events.OrderShipped;
 import com.example.ordermanager.events.OrderStatusUpdated;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 class CustomerManagementImpl implements CustomerManagement {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CustomerManagementImpl.class);
   private final CustomerRepository repository;
+  private final Cache cache;
 
-  CustomerManagementImpl(CustomerRepository repository) {
+  CustomerManagementImpl(CustomerRepository repository, CacheManager cacheManager) {
     this.repository = repository;
+    this.cache = cacheManager.getCache(CustomerRepository.CACHE);
+    Assert.state(cache != null, "No cache named " + CustomerRepository.CACHE);
   }
 
   @Override
@@ -31,37 +44,80 @@ class CustomerManagementImpl implements CustomerManagement {
     if (id == null) {
       return Optional.empty();
     }
-    return repository.findById(id);
+    CachedCustomer cached = cache.get(id, CachedCustomer.class);
+    if (cached != null) {
+      return Optional.of(cached.toCustomer());
+    }
+    Optional<Customer> customer = repository.findById(id);
+    customer.ifPresent(found -> cache.put(id, CachedCustomer.of(found)));
+    return customer;
+  }
+
+  @Override
+  public Map<Long, Customer> findAllById(Collection<Long> ids) {
+    Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    if (distinctIds.isEmpty()) {
+      return Map.of();
+    }
+    Map<Long, Customer> customers = new HashMap<>();
+    List<Long> misses = new ArrayList<>();
+    for (Long id : distinctIds) {
+      CachedCustomer cached = cache.get(id, CachedCustomer.class);
+      if (cached != null) {
+        customers.put(id, cached.toCustomer());
+      } else {
+        misses.add(id);
+      }
+    }
+    if (!misses.isEmpty()) {
+      repository.findAllById(misses).forEach(customer -> {
+        customers.put(customer.getId(), customer);
+        cache.put(customer.getId(), CachedCustomer.of(customer));
+      });
+    }
+    return customers;
   }
 
-  @Async("applicationEventExecutor")
-  @EventListener
+  @ApplicationModuleListener
   void on(OrderCreated event) {
     LOGGER.info("Received order confirmation for {}.", event.orderId());
   }
 
-  @Async("applicationEventExecutor")
-  @EventListener
+  @ApplicationModuleListener
   void on(OrderStatusUpdated event) {
     LOGGER.info("Order {} status updated from {} to {}.", event.orderId(), event.oldStatus(),
         event.newStatus());
   }
 
-  @Async("applicationEventExecutor")
-  @EventListener
+  @ApplicationModuleListener
   void on(OrderShipped event) {
     LOGGER.info("Order {} has been shipped.", event.orderId());
   }
 
-  @Async("applicationEventExecutor")
-  @EventListener
+  @ApplicationModuleListener
   void on(OrderDelivered event) {
     LOGGER.info("Order {} has been delivered.", event.orderId());
   }
 
-  @Async("applicationEventExecutor")
-  @EventListener
+  @ApplicationModuleListener
   void on(OrderCancelled event) {
     LOGGER.info("Order {} has been cancelled. Reason: {}", event.orderId(), event.reason());
   }
+
+  /**
+   * Immutable cache entry. Every lookup gets a {@link Customer} of its own, so no entity instance
+   * is shared between threads.
+   */
+  private record CachedCustomer(Long id, String name, String email) {
+
+    static CachedCustomer of(Customer customer) {
+      return new CachedCustomer(customer.getId(), customer.getName(), customer.getEmail());
+    }
+
+    Customer toCustomer() {
+      Customer customer = new Customer(name, email);
+      customer.setId(id);
+      return customer;
+    }
+  }
 }
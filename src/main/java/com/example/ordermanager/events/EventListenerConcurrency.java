@@ -0,0 +1,15 @@
+package com.example.ordermanager.events;
+
+/**
+ * How many {@code @Async} event listeners the configured executor runs at once. Lets a listener
+ * that waits for other listeners, like one that collects work into batches, know when no more can
+ * join.
+ */
+public interface EventListenerConcurrency {
+
+  /**
+   * @return The number of listeners that can always run at the same time. Executors that start
+   *         extra threads only under backlog report the threads they keep.
+   */
+  int listenerThreads();
+}
@@ -2,7 +2,7 @@ package com.example.ordermanager.events;
 
 import org.springframework.util.Assert;
 
-public record OrderCancelled(Long orderId, String reason) {
+public record OrderCancelled(Long orderId, String reason) implements OrderEvent {
   public OrderCancelled {
     Assert.notNull(orderId, "OrderId must not be null!");
     Assert.hasText(reason, "Reason must not be blank!");
@@ -4,7 +4,7 @@ import org.springframework.util.Assert;
 
 import java.util.List;
 
-public record OrderCreated(Long orderId, List<LineItemData> lineItemsData) {
+public record OrderCreated(Long orderId, List<LineItemData> lineItemsData) implements OrderEvent {
   public OrderCreated {
     Assert.notNull(orderId, "OrderId must not be null!");
     Assert.notNull(lineItemsData, "LineItemsData must not be null!");
@@ -2,7 +2,7 @@ package com.example.ordermanager.events;
 
 import org.springframework.util.Assert;
 
-public record OrderDelivered(Long orderId) {
+public record OrderDelivered(Long orderId) implements OrderEvent {
     public OrderDelivered {
         Assert.notNull(orderId, "OrderId must not be null!");
     }
@@ -0,0 +1,10 @@
+package com.example.ordermanager.events;
+
+/**
+ * An event about a single order. The {@code @Async} listeners handle events with the same
+ * {@link #orderId()} one after another, in the order they were published.
+ */
+public interface OrderEvent {
+
+  Long orderId();
+}
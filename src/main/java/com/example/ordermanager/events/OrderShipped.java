@@ -2,7 +2,7 @@ package com.example.ordermanager.events;
 
 import org.springframework.util.Assert;
 
-public record OrderShipped(Long orderId) {
+public record OrderShipped(Long orderId) implements OrderEvent {
     public OrderShipped {
         Assert.notNull(orderId, "OrderId must not be null!");
     }
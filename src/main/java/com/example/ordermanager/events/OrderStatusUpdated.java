@@ -2,7 +2,8 @@ package com.example.ordermanager.events;
 
 import org.springframework.util.Assert;
 
-public record OrderStatusUpdated(Long orderId, String oldStatus, String newStatus) {
+public record OrderStatusUpdated(Long orderId, String oldStatus, String newStatus)
+    implements OrderEvent {
     public OrderStatusUpdated {
         Assert.notNull(orderId, "OrderId must not be null!");
         Assert.hasText(oldStatus, "Old status must not be blank!");
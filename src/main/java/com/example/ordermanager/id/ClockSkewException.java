@@ -0,0 +1,20 @@
+package com.example.ordermanager.id;
+
+/**
+ * Thrown when the clock went back further than a {@link SnowflakeIdGenerator} tolerates. Issuing
+ * ids would either repeat earlier ones or have to wait for the clock to catch up.
+ */
+public class ClockSkewException extends IllegalStateException {
+
+  private final long skewMillis;
+
+  public ClockSkewException(long skewMillis, long maxSkewMillis) {
+    super("Clock moved backwards by " + skewMillis + " ms, more than the tolerated "
+        + maxSkewMillis + " ms");
+    this.skewMillis = skewMillis;
+  }
+
+  public long getSkewMillis() {
+    return skewMillis;
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.ordermanager.id;
+
+import com.example.ordermanager.id.internal.SnowflakeIdentifierGenerator;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Marks an {@code @Id} attribute whose value comes from the application's
+ * {@link SnowflakeIdGenerator}. Ids are assigned in memory before the insert, so inserts need no
+ * round trip for their key and stay batchable.
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
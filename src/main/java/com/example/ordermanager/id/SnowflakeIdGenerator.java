@@ -0,0 +1,119 @@
+package com.example.ordermanager.id;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues 64-bit ids made of a millisecond timestamp, the node that issued them and a sequence
+ * number within the millisecond:
+ *
+ * <pre>
+ * 0 | 41 bits milliseconds since {@link #EPOCH} | 10 bits node | 12 bits sequence
+ * </pre>
+ *
+ * Each node issues up to 4096 ids per millisecond without coordinating with other nodes or the
+ * database, as long as every node has its own node id. Ids of one node are strictly increasing,
+ * ids of different nodes are ordered by time to within their clock difference. Positive ids last
+ * until 2093.
+ *
+ * <p>Thread-safe and lock-free: the last issued timestamp and sequence live in one
+ * {@link AtomicLong} that callers advance with compare-and-set.
+ */
+public final class SnowflakeIdGenerator {
+
+  /**
+   * Start of the timestamps, 2024-01-01T00:00:00Z
+   */
+  public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+  public static final int NODE_BITS = 10;
+  public static final int SEQUENCE_BITS = 12;
+  public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+  private static final int TIMESTAMP_BITS = Long.SIZE - 1 - NODE_BITS - SEQUENCE_BITS;
+  private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final int node;
+  private final long maxClockSkewMillis;
+  private final InstantSource clock;
+  private final long epochMillis = EPOCH.toEpochMilli();
+  // Timestamp of the last issued id shifted left by SEQUENCE_BITS, plus its sequence
+  private final AtomicLong last = new AtomicLong();
+
+  /**
+   * @param node id of this instance, unique among the instances sharing a database
+   * @param maxClockSkew how far the clock may go back before {@link #nextId()} fails; within it
+   *        ids continue from the last timestamp, so they stay increasing
+   */
+  public SnowflakeIdGenerator(int node, Duration maxClockSkew, InstantSource clock) {
+    if (node < 0 || node > MAX_NODE) {
+      throw new IllegalArgumentException("Node must be between 0 and " + MAX_NODE + ": " + node);
+    }
+    if (maxClockSkew.isNegative()) {
+      throw new IllegalArgumentException("Max clock skew must not be negative: " + maxClockSkew);
+    }
+    this.node = node;
+    this.maxClockSkewMillis = maxClockSkew.toMillis();
+    this.clock = clock;
+  }
+
+  /**
+   * Returns an id greater than every id this generator issued before. Waits for the next
+   * millisecond when the current one has run out of sequence numbers.
+   *
+   * @throws ClockSkewException if the clock is further behind the last issued id than the
+   *         configured maximum skew
+   */
+  public long nextId() {
+    while (true) {
+      long now = currentMillis();
+      long previous = last.get();
+      long previousMillis = previous >>> SEQUENCE_BITS;
+      if (previousMillis - now > maxClockSkewMillis) {
+        throw new ClockSkewException(previousMillis - now, maxClockSkewMillis);
+      }
+      long next = now > previousMillis ? now << SEQUENCE_BITS : previous + 1;
+      if (next >>> SEQUENCE_BITS > Math.max(now, previousMillis)) {
+        // The sequence of this millisecond is used up, running ahead of the clock would let a
+        // burst drift without bound
+        Thread.onSpinWait();
+        continue;
+      }
+      if (last.compareAndSet(previous, next)) {
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+            | (long) node << SEQUENCE_BITS
+            | next & SEQUENCE_MASK;
+      }
+    }
+  }
+
+  public int node() {
+    return node;
+  }
+
+  /**
+   * When the given id was issued, to the millisecond
+   */
+  public static Instant timestampOf(long id) {
+    return EPOCH.plusMillis(id >>> (NODE_BITS + SEQUENCE_BITS));
+  }
+
+  public static int nodeOf(long id) {
+    return (int) (id >>> SEQUENCE_BITS) & MAX_NODE;
+  }
+
+  public static int sequenceOf(long id) {
+    return (int) (id & SEQUENCE_MASK);
+  }
+
+  private long currentMillis() {
+    long millis = clock.millis() - epochMillis;
+    if (millis < 0 || millis > MAX_TIMESTAMP) {
+      throw new IllegalStateException("Clock is outside the id range: " + clock.instant());
+    }
+    return millis;
+  }
+}
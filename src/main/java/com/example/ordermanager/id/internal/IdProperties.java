@@ -0,0 +1,15 @@
+package com.example.ordermanager.id.internal;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the {@link com.example.ordermanager.id.SnowflakeIdGenerator}.
+ *
+ * @param node Id of this instance, 0 to 1023 and unique among the instances sharing a database
+ * @param maxClockSkew How far the clock may go back before id generation fails
+ */
+@ConfigurationProperties("order-manager.id")
+record IdProperties(@DefaultValue("0") int node, @DefaultValue("1s") Duration maxClockSkew) {
+}
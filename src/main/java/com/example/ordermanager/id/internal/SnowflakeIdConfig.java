@@ -0,0 +1,32 @@
+package com.example.ordermanager.id.internal;
+
+import com.example.ordermanager.id.SnowflakeIdGenerator;
+import java.time.InstantSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * One {@link SnowflakeIdGenerator} per application instance, handed to Hibernate through its
+ * settings so that every {@code @SnowflakeId} attribute draws from the same node and sequence. The
+ * generator is deliberately not a bean of its own: module observability would wrap it in a proxy,
+ * which a final class cannot have and which would put an interceptor in front of every id.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(IdProperties.class)
+class SnowflakeIdConfig {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SnowflakeIdConfig.class);
+
+  @Bean
+  HibernatePropertiesCustomizer snowflakeIdGeneratorSetting(IdProperties properties) {
+    LOGGER.info("Generating ids as node {}", properties.node());
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(properties.node(),
+        properties.maxClockSkew(), InstantSource.system());
+    return hibernateProperties -> hibernateProperties.put(
+        SnowflakeIdentifierGenerator.GENERATOR_SETTING, generator);
+  }
+}
@@ -0,0 +1,52 @@
+package com.example.ordermanager.id.internal;
+
+import com.example.ordermanager.id.SnowflakeId;
+import com.example.ordermanager.id.SnowflakeIdGenerator;
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+/**
+ * Hibernate side of {@link SnowflakeId}. Hibernate creates one instance per annotated attribute;
+ * all of them delegate to the generator found under {@link #GENERATOR_SETTING} in the Hibernate
+ * settings.
+ */
+public class SnowflakeIdentifierGenerator
+    implements BeforeExecutionGenerator, AnnotationBasedGenerator<SnowflakeId> {
+
+  /**
+   * Hibernate setting holding the {@link SnowflakeIdGenerator} instance
+   */
+  public static final String GENERATOR_SETTING = "order-manager.id.generator";
+
+  private transient SnowflakeIdGenerator generator;
+
+  @Override
+  public void initialize(SnowflakeId annotation, Member member,
+      GeneratorCreationContext context) {
+    Object setting = context.getServiceRegistry().requireService(ConfigurationService.class)
+        .getSettings().get(GENERATOR_SETTING);
+    if (!(setting instanceof SnowflakeIdGenerator snowflakeIdGenerator)) {
+      throw new IllegalStateException("No " + SnowflakeIdGenerator.class.getSimpleName()
+          + " in Hibernate setting " + GENERATOR_SETTING + " for " + member);
+    }
+    this.generator = snowflakeIdGenerator;
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object owner,
+      Object currentValue, EventType eventType) {
+    return generator.nextId();
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EventTypeSets.INSERT_ONLY;
+  }
+}
@@ -0,0 +1,9 @@
+/**
+ * Id module - Generates entity ids without asking the database.
+ * This module is responsible for:
+ * - Issuing 64-bit time, node and sequence ids that every instance can generate on its own
+ * - Detecting clocks that moved backwards
+ * - Plugging the ids into Hibernate through {@link com.example.ordermanager.id.SnowflakeId}
+ */
+@org.springframework.modulith.ApplicationModule
+package com.example.ordermanager.id;
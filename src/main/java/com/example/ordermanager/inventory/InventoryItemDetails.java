@@ -0,0 +1,13 @@
+package com.example.ordermanager.inventory;
+
+/**
+ * What {@link InventoryManagement} lookups return: an immutable copy of the descriptive part of an
+ * {@link InventoryItem}. The stock is left out because it changes with every reservation and would
+ * be stale as soon as it is cached.
+ */
+public record InventoryItemDetails(Long id, String name, String description) {
+
+  public static InventoryItemDetails of(InventoryItem item) {
+    return new InventoryItemDetails(item.getId(), item.getName(), item.getDescription());
+  }
+}
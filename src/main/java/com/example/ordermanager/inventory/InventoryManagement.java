@@ -1,7 +1,26 @@
 package com.example.ordermanager.inventory;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface InventoryManagement {
-  Optional<InventoryItem> findById(Long id);
+
+  /**
+   * Looks up an item through the item cache. The details carry no stock; reservations go through
+   * {@link #reserveStock}, which never reads the cache.
+   */
+  Optional<InventoryItemDetails> findById(Long id);
+
+  /**
+   * Looks up all given items, querying only those missing from the item cache with a single query.
+   * Unknown ids are simply missing from the result.
+   */
+  Map<Long, InventoryItemDetails> findAllById(Collection<Long> ids);
+
+  /**
+   * Atomically takes {@code quantity} units of the given item out of stock, without reading the
+   * item first.
+   */
+  StockReservation reserveStock(Long id, int quantity);
 }
@@ -1,6 +1,51 @@
 package com.example.ordermanager.inventory;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+
+/**
+ * Writes evict the item from the {@value #CACHE} cache that {@link InventoryManagement} lookups
+ * read through. Stock decrements do not: the cache holds {@link InventoryItemDetails} without stock.
+ */
 public interface InventoryRepository extends CrudRepository<InventoryItem, Long> {
+
+  String CACHE = "inventory-items";
+
+  /**
+   * Keyset page: {@code WHERE id > ? ORDER BY id LIMIT ?}
+   */
+  List<InventoryItem> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  /**
+   * Decrements the stock of the given item in a single conditional UPDATE. The row is only touched
+   * if enough stock is left, so concurrent callers can neither lose updates nor oversell.
+   *
+   * @return the number of updated rows, {@code 1} if the stock was decremented, {@code 0} otherwise
+   */
+  @Modifying
+  @Query("update InventoryItem i set i.stock = i.stock - :quantity "
+      + "where i.id = :id and i.stock >= :quantity")
+  int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+  @Override
+  @CacheEvict(cacheNames = CACHE, key = "#result.id")
+  <S extends InventoryItem> S save(S item);
+
+  @Override
+  @CacheEvict(cacheNames = CACHE, allEntries = true)
+  <S extends InventoryItem> Iterable<S> saveAll(Iterable<S> items);
+
+  @Override
+  @CacheEvict(cacheNames = CACHE)
+  void deleteById(Long id);
+
+  @Override
+  @CacheEvict(cacheNames = CACHE, key = "#item.id")
+  void delete(InventoryItem item);
 }
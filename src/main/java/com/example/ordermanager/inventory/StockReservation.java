@@ -0,0 +1,16 @@
+package com.example.ordermanager.inventory;
+
+/**
+ * Outcome of {@link InventoryManagement#reserveStock(Long, int)}.
+ */
+public enum StockReservation {
+
+  /** The requested quantity was taken from the stock. */
+  RESERVED,
+
+  /** The item exists but has less stock than requested; the stock is left untouched. */
+  INSUFFICIENT_STOCK,
+
+  /** There is no inventory item with the given id. */
+  ITEM_NOT_FOUND
+}
@@ -1,26 +1,89 @@
 package com.example.ordermanager.inventory.internal;
 
-import com.example.ordermanager.inventory.InventoryItem;
+import com.example.ordermanager.inventory.InventoryItemDetails;
 import com.example.ordermanager.inventory.InventoryManagement;
 import com.example.ordermanager.inventory.InventoryRepository;
+import com.example.ordermanager.inventory.StockReservation;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 class InventoryManagementImpl implements InventoryManagement {
 
   private final InventoryRepository repository;
+  private final Cache cache;
 
-  InventoryManagementImpl(InventoryRepository repository) {
+  InventoryManagementImpl(InventoryRepository repository, CacheManager cacheManager) {
     this.repository = repository;
+    this.cache = cacheManager.getCache(InventoryRepository.CACHE);
+    Assert.state(cache != null, "No cache named " + InventoryRepository.CACHE);
   }
 
   @Override
-  public Optional<InventoryItem> findById(Long id) {
+  public Optional<InventoryItemDetails> findById(Long id) {
     if (id == null) {
       return Optional.empty();
     }
-    return repository.findById(id);
+    InventoryItemDetails cached = cache.get(id, InventoryItemDetails.class);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<InventoryItemDetails> item = repository.findById(id).map(InventoryItemDetails::of);
+    item.ifPresent(found -> cache.put(id, found));
+    return item;
+  }
+
+  @Override
+  public Map<Long, InventoryItemDetails> findAllById(Collection<Long> ids) {
+    Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    if (distinctIds.isEmpty()) {
+      return Map.of();
+    }
+    Map<Long, InventoryItemDetails> items = new HashMap<>();
+    List<Long> misses = new ArrayList<>();
+    for (Long id : distinctIds) {
+      InventoryItemDetails cached = cache.get(id, InventoryItemDetails.class);
+      if (cached != null) {
+        items.put(id, cached);
+      } else {
+        misses.add(id);
+      }
+    }
+    if (!misses.isEmpty()) {
+      repository.findAllById(misses).forEach(item -> {
+        InventoryItemDetails details = InventoryItemDetails.of(item);
+        items.put(details.id(), details);
+        cache.put(details.id(), details);
+      });
+    }
+    return items;
+  }
+
+  @Override
+  @Transactional
+  public StockReservation reserveStock(Long id, int quantity) {
+    Assert.isTrue(quantity > 0, "Quantity must be greater than 0!");
+    if (id == null) {
+      return StockReservation.ITEM_NOT_FOUND;
+    }
+    if (repository.decrementStock(id, quantity) == 1) {
+      return StockReservation.RESERVED;
+    }
+    // Only the failure path pays for a second query to tell the two cases apart
+    return repository.existsById(id) ? StockReservation.INSUFFICIENT_STOCK
+        : StockReservation.ITEM_NOT_FOUND;
   }
 }
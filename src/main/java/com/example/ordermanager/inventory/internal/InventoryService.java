@@ -5,32 +5,36 @@ import com.example.ordermanager.events.OrderCreated;
 import com.example.ordermanager.events.OrderDelivered;
 import com.example.ordermanager.events.OrderShipped;
 import com.example.ordermanager.events.OrderStatusUpdated;
-import com.example.ordermanager.inventory.InventoryRepository;
+import com.example.ordermanager.inventory.StockReservation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.modulith.events.ApplicationModuleListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Service
 @Transactional
 class InventoryService {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(InventoryService.class);
 
-  private final InventoryRepository inventory;
+  private final StockBatcher stockBatcher;
 
-  InventoryService(InventoryRepository inventory) {
-    this.inventory = inventory;
+  InventoryService(StockBatcher stockBatcher) {
+    this.stockBatcher = stockBatcher;
   }
 
-  @Async("applicationEventExecutor")
-  @EventListener
+  // The batcher runs the transaction; one of our own would hold a connection while waiting
+  @ApplicationModuleListener(propagation = Propagation.NOT_SUPPORTED)
   void on(OrderCreated event) {
 
     LOGGER.info("Received order confirmation for {}.", event.orderId());
 
+    Map<Long, Integer> quantities = new LinkedHashMap<>();
     event.lineItemsData().forEach(item -> {
       Long id = item.inventoryItemId();
       if (id == null) {
@@ -38,35 +42,47 @@ class InventoryService {
             event.orderId());
         return;
       }
-      inventory.findById(id).ifPresent(it -> {
-        it.setStock(it.getStock() - item.quantity());
-        inventory.save(it);
-        LOGGER.info("Updated stock for inventory item {}: {}.", id, it.getStock());
-      });
+      quantities.merge(id, item.quantity(), Integer::sum);
+    });
+
+    // Wait for the stock to be committed, only then may the event publication complete
+    Map<Long, StockReservation> outcomes =
+        stockBatcher.reserve(event.orderId(), quantities).join();
+    if (outcomes.isEmpty() && !quantities.isEmpty()) {
+      LOGGER.info("Stock for order {} was already reserved.", event.orderId());
+      return;
+    }
+
+    quantities.forEach((id, quantity) -> {
+      switch (outcomes.get(id)) {
+        case RESERVED -> LOGGER.info("Reserved {} of inventory item {} for order {}.",
+            quantity, id, event.orderId());
+        case INSUFFICIENT_STOCK -> LOGGER.warn(
+            "Insufficient stock for inventory item {}: order {} requested {}.", id,
+            event.orderId(), quantity);
+        case ITEM_NOT_FOUND -> LOGGER.warn("Inventory item {} for order {} does not exist.", id,
+            event.orderId());
+      }
     });
   }
 
-  @Async("applicationEventExecutor")
-  @EventListener
+  @ApplicationModuleListener
   void on(OrderStatusUpdated event) {
     LOGGER.info("Order {} status updated from {} to {}.", event.orderId(), event.oldStatus(),
         event.newStatus());
   }
 
-  @Async("applicationEventExecutor")
-  @EventListener
+  @ApplicationModuleListener
   void on(OrderShipped event) {
     LOGGER.info("Order {} has been shipped.", event.orderId());
   }
 
-  @Async("applicationEventExecutor")
-  @EventListener
+  @ApplicationModuleListener
   void on(OrderDelivered event) {
     LOGGER.info("Order {} has been delivered.", event.orderId());
   }
 
-  @Async("applicationEventExecutor")
-  @EventListener
+  @ApplicationModuleListener
   void on(OrderCancelled event) {
     LOGGER.info("Order {} has been cancelled. Reason: {}", event.orderId(), event.reason());
     // When an order is cancelled, we might want to restore inventory
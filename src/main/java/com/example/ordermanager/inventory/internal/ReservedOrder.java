@@ -0,0 +1,28 @@
+package com.example.ordermanager.inventory.internal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks an order whose stock has been reserved. It is inserted in the transaction that takes the
+ * stock, and its primary key lets that happen once per order: a redelivered {@code OrderCreated}
+ * finds the row and skips the order, and a concurrent duplicate fails on the key and rolls back.
+ */
+@Entity
+@Table(name = "reserved_order")
+class ReservedOrder {
+
+  @Id
+  @Column(name = "order_id")
+  private Long orderId;
+
+  private LocalDateTime reservedAt;
+
+  protected ReservedOrder() {
+    // Rows are written by ReservedOrderRepository.insert
+  }
+}
@@ -0,0 +1,24 @@
+package com.example.ordermanager.inventory.internal;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+interface ReservedOrderRepository extends Repository<ReservedOrder, Long> {
+
+  @Query("select r.orderId from ReservedOrder r where r.orderId in :orderIds")
+  Set<Long> findReserved(@Param("orderIds") Collection<Long> orderIds);
+
+  /**
+   * Plain INSERT rather than a merge, so a second reservation of the same order fails on the
+   * primary key instead of overwriting the first
+   */
+  @Modifying
+  @Query("insert into ReservedOrder (orderId, reservedAt) values (:orderId, :now)")
+  void insert(@Param("orderId") Long orderId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,230 @@
+package com.example.ordermanager.inventory.internal;
+
+import com.example.ordermanager.events.EventListenerConcurrency;
+import com.example.ordermanager.inventory.InventoryManagement;
+import com.example.ordermanager.inventory.InventoryRepository;
+import com.example.ordermanager.inventory.StockReservation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the stock reservations of new orders. With batching enabled it collects the
+ * reservations of several orders and applies them together: quantities are summed per inventory
+ * item and taken out of stock with one conditional UPDATE per item, all in a single transaction.
+ * Each listener waits for the batch of its order, so once every listener thread of the event
+ * executor has an order in the batch nothing more can arrive. A batch is therefore applied once it
+ * holds as many orders as there are {@link EventListenerConcurrency#listenerThreads() listener
+ * threads}, or {@code maxSize} if that is less, or {@code maxWait} after its first order arrived,
+ * whichever comes first. Without batching every order is applied on its own right
+ * away.
+ * <p>
+ * Callers get the outcome for their own order only. If an item does not have enough stock for the
+ * whole batch, its orders are reserved one at a time in arrival order, so earlier orders win. If
+ * the batch transaction fails altogether, every order is retried in a transaction of its own and
+ * only the orders that fail again see an exception.
+ * <p>
+ * Each order is reserved at most once: the transaction that takes its stock also records it as a
+ * {@link ReservedOrder}, and an order that is already recorded is skipped with an empty outcome. A
+ * redelivered {@code OrderCreated} therefore never takes the stock twice.
+ */
+@Component
+@EnableConfigurationProperties(StockBatchingProperties.class)
+class StockBatcher implements DisposableBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StockBatcher.class);
+
+  private final InventoryRepository repository;
+  private final InventoryManagement inventory;
+  private final ReservedOrderRepository reservedOrders;
+  private final TransactionTemplate transactionTemplate;
+  private final StockBatchingProperties properties;
+  private final int flushSize;
+  private final ScheduledExecutorService timer;
+  private final DistributionSummary batchSize;
+  private final Timer flushLatency;
+  private final Counter fallbacks;
+
+  private final Object lock = new Object();
+  private List<PendingOrder> pending = new ArrayList<>();
+  private ScheduledFuture<?> scheduledFlush;
+
+  StockBatcher(InventoryRepository repository, InventoryManagement inventory,
+      ReservedOrderRepository reservedOrders, PlatformTransactionManager transactionManager,
+      StockBatchingProperties properties, EventListenerConcurrency listenerConcurrency,
+      MeterRegistry meterRegistry) {
+    Assert.isTrue(properties.maxSize() > 0, "Batch size must be positive");
+    Assert.isTrue(listenerConcurrency.listenerThreads() > 0, "Listener threads must be positive");
+    this.repository = repository;
+    this.inventory = inventory;
+    this.reservedOrders = reservedOrders;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = properties;
+    this.flushSize = Math.min(properties.maxSize(), listenerConcurrency.listenerThreads());
+    this.timer = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("stock-batcher-"));
+    this.batchSize = DistributionSummary.builder("inventory.stock.batch.size")
+        .description("Orders applied per stock batch").publishPercentileHistogram()
+        .register(meterRegistry);
+    this.flushLatency = Timer.builder("inventory.stock.batch.flush")
+        .description("Time to apply one stock batch").publishPercentileHistogram()
+        .register(meterRegistry);
+    this.fallbacks = Counter.builder("inventory.stock.batch.fallbacks")
+        .description("Batches that failed and were applied order by order")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Queues the reservations of one order, or applies them right away if batching is disabled
+   *
+   * @param quantities Quantity to reserve per inventory item id
+   * @return Completes with the outcome per inventory item once the batch has been committed,
+   *         empty if the stock of this order had already been reserved
+   */
+  CompletableFuture<Map<Long, StockReservation>> reserve(Long orderId,
+      Map<Long, Integer> quantities) {
+    quantities.values().forEach(
+        quantity -> Assert.isTrue(quantity > 0, "Quantity must be greater than 0!"));
+    PendingOrder order = new PendingOrder(orderId, quantities, new CompletableFuture<>());
+    if (!properties.enabled()) {
+      apply(List.of(order));
+      return order.result();
+    }
+    List<PendingOrder> full = null;
+    synchronized (lock) {
+      pending.add(order);
+      if (pending.size() >= flushSize) {
+        full = drain();
+      } else if (pending.size() == 1) {
+        scheduledFlush = timer.schedule(this::flushDue, properties.maxWait().toNanos(),
+            TimeUnit.NANOSECONDS);
+      }
+    }
+    if (full != null) {
+      apply(full);
+    }
+    return order.result();
+  }
+
+  private void flushDue() {
+    List<PendingOrder> due;
+    synchronized (lock) {
+      due = drain();
+    }
+    apply(due);
+  }
+
+  private List<PendingOrder> drain() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    List<PendingOrder> drained = pending;
+    pending = new ArrayList<>();
+    return drained;
+  }
+
+  private void apply(List<PendingOrder> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    long start = System.nanoTime();
+    try {
+      Map<PendingOrder, Map<Long, StockReservation>> outcomes =
+          transactionTemplate.execute(status -> applyMerged(batch));
+      outcomes.forEach((order, outcome) -> order.result().complete(outcome));
+    } catch (RuntimeException e) {
+      LOGGER.warn("Stock batch of {} orders failed, applying them one by one.", batch.size(), e);
+      fallbacks.increment();
+      batch.forEach(this::applySingly);
+    } finally {
+      batchSize.record(batch.size());
+      flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private Map<PendingOrder, Map<Long, StockReservation>> applyMerged(List<PendingOrder> batch) {
+    Set<Long> reserved = new HashSet<>(reservedOrders.findReserved(
+        batch.stream().map(PendingOrder::orderId).toList()));
+    LocalDateTime now = LocalDateTime.now();
+    // Sorted, so concurrent batches lock the rows in the same order and cannot deadlock
+    Map<Long, Integer> totals = new TreeMap<>();
+    Map<PendingOrder, Map<Long, StockReservation>> outcomes = new LinkedHashMap<>();
+    List<PendingOrder> fresh = new ArrayList<>();
+    for (PendingOrder order : batch) {
+      outcomes.put(order, new HashMap<>());
+      // Also skips the second delivery of an order that is twice in this batch
+      if (!reserved.add(order.orderId())) {
+        continue;
+      }
+      reservedOrders.insert(order.orderId(), now);
+      order.quantities().forEach((id, quantity) -> totals.merge(id, quantity, Integer::sum));
+      fresh.add(order);
+    }
+    totals.forEach((id, total) -> {
+      if (repository.decrementStock(id, total) == 1) {
+        fresh.stream().filter(order -> order.quantities().containsKey(id))
+            .forEach(order -> outcomes.get(order).put(id, StockReservation.RESERVED));
+        return;
+      }
+      // Not enough for everyone (or no such item): first come, first served
+      fresh.stream().filter(order -> order.quantities().containsKey(id))
+          .forEach(order -> outcomes.get(order).put(id,
+              inventory.reserveStock(id, order.quantities().get(id))));
+    });
+    return outcomes;
+  }
+
+  private void applySingly(PendingOrder order) {
+    try {
+      order.result().complete(transactionTemplate.execute(status -> {
+        Map<Long, StockReservation> outcome = new HashMap<>();
+        if (!reservedOrders.findReserved(List.of(order.orderId())).isEmpty()) {
+          return outcome;
+        }
+        reservedOrders.insert(order.orderId(), LocalDateTime.now());
+        order.quantities().forEach((id, quantity) -> outcome.put(id,
+            inventory.reserveStock(id, quantity)));
+        return outcome;
+      }));
+    } catch (RuntimeException e) {
+      LOGGER.error("Could not reserve stock for order {}.", order.orderId(), e);
+      order.result().completeExceptionally(e);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    flushDue();
+    timer.shutdown();
+  }
+
+  private record PendingOrder(Long orderId, Map<Long, Integer> quantities,
+      CompletableFuture<Map<Long, StockReservation>> result) {
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.ordermanager.inventory.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link StockBatcher}.
+ *
+ * @param enabled Whether {@code OrderCreated} reservations go through the batcher
+ * @param maxSize A batch is applied as soon as it holds this many orders, if that is less than the
+ *        number of event listener threads
+ * @param maxWait A batch is applied at the latest this long after its first order arrived
+ */
+@ConfigurationProperties("order-manager.inventory.batching")
+record StockBatchingProperties(@DefaultValue("false") boolean enabled,
+    @DefaultValue("64") int maxSize, @DefaultValue("10ms") Duration maxWait) {
+}
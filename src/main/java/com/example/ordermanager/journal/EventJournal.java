@@ -0,0 +1,39 @@
+package com.example.ordermanager.journal;
+
+import com.example.ordermanager.events.OrderEvent;
+
+/**
+ * Append-only log of order events. Every record has an offset, its byte position in the log, which
+ * only grows; readers can start at any offset they were given by {@link #append} or a
+ * {@link JournalReader}.
+ */
+public interface EventJournal {
+
+  /**
+   * Appends the event. It is written to disk by the next group flush, call
+   * {@link #awaitDurable(long)} to wait for that.
+   *
+   * @return the offset of the record
+   * @throws IllegalArgumentException if the event type cannot be journaled
+   */
+  long append(OrderEvent event);
+
+  /**
+   * Blocks until the record at {@code offset} and every record before it are on disk. Callers that
+   * wait at the same time share one flush.
+   */
+  void awaitDurable(long offset) throws InterruptedException;
+
+  /**
+   * Opens a reader positioned at {@code offset}. Offsets before the oldest retained record start at
+   * the oldest retained record.
+   *
+   * @throws IllegalArgumentException if {@code offset} is past the end of the journal
+   */
+  JournalReader read(long offset);
+
+  /**
+   * The offset the next record will be appended at
+   */
+  long endOffset();
+}
@@ -0,0 +1,43 @@
+package com.example.ordermanager.journal;
+
+import com.example.ordermanager.events.OrderEvent;
+import java.nio.ByteBuffer;
+
+/**
+ * Cursor over the records of an {@link EventJournal}, oldest first. Once it has reached the end it
+ * can be polled again with {@link #next()} to pick up records appended since.
+ */
+public interface JournalReader extends AutoCloseable {
+
+  /**
+   * Moves to the next record.
+   *
+   * @return {@code false} if there is no record yet
+   * @throws IllegalStateException if the record is corrupt
+   */
+  boolean next();
+
+  /**
+   * Offset of the current record
+   */
+  long offset();
+
+  /**
+   * When the current record was appended, in epoch milliseconds
+   */
+  long timestamp();
+
+  /**
+   * Encoded event of the current record: a read-only view of the journal file, valid until the
+   * reader moves on
+   */
+  ByteBuffer payload();
+
+  /**
+   * Decodes the current record
+   */
+  OrderEvent event();
+
+  @Override
+  void close();
+}
@@ -0,0 +1,148 @@
+package com.example.ordermanager.journal.internal;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.events.OrderCancelled;
+import com.example.ordermanager.events.OrderCreated;
+import com.example.ordermanager.events.OrderDelivered;
+import com.example.ordermanager.events.OrderEvent;
+import com.example.ordermanager.events.OrderShipped;
+import com.example.ordermanager.events.OrderStatusUpdated;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of a journal record, all numbers big-endian:
+ *
+ * <pre>
+ * int  length    bytes after the header (type, timestamp and payload), 0 past the last record
+ * int  checksum  CRC32C of those bytes
+ * byte type      which event the payload holds
+ * long timestamp epoch milliseconds of the append
+ * ...  payload   the event fields in declaration order; strings as int length + UTF-8, prices as
+ *                byte scale + long unscaled value
+ * </pre>
+ */
+final class EventCodec {
+
+  static final int HEADER_SIZE = Integer.BYTES * 2;
+  static final int BODY_PREFIX_SIZE = Byte.BYTES + Long.BYTES;
+
+  private static final byte ORDER_CREATED = 1;
+  private static final byte ORDER_STATUS_UPDATED = 2;
+  private static final byte ORDER_SHIPPED = 3;
+  private static final byte ORDER_DELIVERED = 4;
+  private static final byte ORDER_CANCELLED = 5;
+
+  private static final int LINE_ITEM_SIZE = Long.BYTES + Integer.BYTES + Byte.BYTES + Long.BYTES;
+
+  private EventCodec() {
+  }
+
+  /**
+   * Encodes the event as a complete record, header included, ready to be copied into a segment.
+   */
+  static ByteBuffer encode(OrderEvent event, long timestamp) {
+    ByteBuffer record = switch (event) {
+      case OrderCreated created -> {
+        ByteBuffer buffer = allocate(ORDER_CREATED, timestamp,
+            Long.BYTES + Integer.BYTES + created.lineItemsData().size() * LINE_ITEM_SIZE);
+        buffer.putLong(created.orderId()).putInt(created.lineItemsData().size());
+        for (LineItemData lineItem : created.lineItemsData()) {
+          BigDecimal price = lineItem.price();
+          BigInteger unscaled = price.unscaledValue();
+          if (unscaled.bitLength() >= Long.SIZE || price.scale() != (byte) price.scale()) {
+            throw new IllegalArgumentException("Price out of range: " + price);
+          }
+          buffer.putLong(lineItem.inventoryItemId()).putInt(lineItem.quantity())
+              .put((byte) price.scale()).putLong(unscaled.longValue());
+        }
+        yield buffer;
+      }
+      case OrderStatusUpdated updated -> {
+        byte[] oldStatus = utf8(updated.oldStatus());
+        byte[] newStatus = utf8(updated.newStatus());
+        ByteBuffer buffer = allocate(ORDER_STATUS_UPDATED, timestamp,
+            Long.BYTES + Integer.BYTES * 2 + oldStatus.length + newStatus.length);
+        buffer.putLong(updated.orderId());
+        putString(buffer, oldStatus);
+        putString(buffer, newStatus);
+        yield buffer;
+      }
+      case OrderShipped shipped ->
+          allocate(ORDER_SHIPPED, timestamp, Long.BYTES).putLong(shipped.orderId());
+      case OrderDelivered delivered ->
+          allocate(ORDER_DELIVERED, timestamp, Long.BYTES).putLong(delivered.orderId());
+      case OrderCancelled cancelled -> {
+        byte[] reason = utf8(cancelled.reason());
+        ByteBuffer buffer = allocate(ORDER_CANCELLED, timestamp,
+            Long.BYTES + Integer.BYTES + reason.length);
+        buffer.putLong(cancelled.orderId());
+        putString(buffer, reason);
+        yield buffer;
+      }
+      default -> throw new IllegalArgumentException(
+          "Cannot journal " + event.getClass().getName());
+    };
+    record.flip();
+    record.putInt(Integer.BYTES, checksum(record, HEADER_SIZE, record.limit() - HEADER_SIZE));
+    return record;
+  }
+
+  /**
+   * Decodes the payload of a record of the given type. Reads from the buffer's position.
+   */
+  static OrderEvent decode(byte type, ByteBuffer payload) {
+    long orderId = payload.getLong();
+    return switch (type) {
+      case ORDER_CREATED -> {
+        int count = payload.getInt();
+        List<LineItemData> lineItems = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          long inventoryItemId = payload.getLong();
+          int quantity = payload.getInt();
+          int scale = payload.get();
+          lineItems.add(new LineItemData(inventoryItemId, quantity,
+              BigDecimal.valueOf(payload.getLong(), scale)));
+        }
+        yield new OrderCreated(orderId, lineItems);
+      }
+      case ORDER_STATUS_UPDATED ->
+          new OrderStatusUpdated(orderId, getString(payload), getString(payload));
+      case ORDER_SHIPPED -> new OrderShipped(orderId);
+      case ORDER_DELIVERED -> new OrderDelivered(orderId);
+      case ORDER_CANCELLED -> new OrderCancelled(orderId, getString(payload));
+      default -> throw new IllegalStateException("Unknown journal record type " + type);
+    };
+  }
+
+  static int checksum(ByteBuffer buffer, int index, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.slice(index, length));
+    return (int) crc.getValue();
+  }
+
+  private static ByteBuffer allocate(byte type, long timestamp, int payloadSize) {
+    int length = BODY_PREFIX_SIZE + payloadSize;
+    return ByteBuffer.allocate(HEADER_SIZE + length).putInt(length).putInt(0).put(type)
+        .putLong(timestamp);
+  }
+
+  private static byte[] utf8(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void putString(ByteBuffer buffer, byte[] value) {
+    buffer.putInt(value.length).put(value);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    byte[] value = new byte[buffer.getInt()];
+    buffer.get(value);
+    return new String(value, StandardCharsets.UTF_8);
+  }
+}
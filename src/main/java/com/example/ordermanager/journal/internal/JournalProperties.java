@@ -0,0 +1,28 @@
+package com.example.ordermanager.journal.internal;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for {@link MappedEventJournal}.
+ *
+ * @param directory Where the segment files are kept; only one instance may use it at a time
+ * @param segmentSize Size of each segment file, the journal rolls to a new one when it is full
+ * @param flushInterval How long an appended record may stay in memory before it is forced to disk
+ * @param retention When rolled segments are deleted
+ */
+@ConfigurationProperties("order-manager.journal")
+record JournalProperties(@DefaultValue("data/journal") Path directory,
+    @DefaultValue("64MB") DataSize segmentSize, @DefaultValue("10ms") Duration flushInterval,
+    @DefaultValue Retention retention) {
+
+  /**
+   * @param maxAge Segments last written longer ago than this are deleted
+   * @param maxSize Oldest segments are deleted while all of them together are larger than this
+   */
+  record Retention(@DefaultValue("7d") Duration maxAge, @DefaultValue("1GB") DataSize maxSize) {
+  }
+}
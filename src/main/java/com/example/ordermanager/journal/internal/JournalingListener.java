@@ -0,0 +1,57 @@
+package com.example.ordermanager.journal.internal;
+
+import com.example.ordermanager.events.OrderEvent;
+import com.example.ordermanager.journal.EventJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Appends every order event to the {@link EventJournal} once the transaction that published it has
+ * committed. A plain listener rather than an application module listener, so journaling adds no
+ * row to the event publication registry; the append does not wait for the flush either. The journal
+ * is therefore best effort: a crash loses the events of up to one flush interval, and an append
+ * that fails is logged, counted in {@code journal.append.failures} and not retried.
+ */
+@Component
+class JournalingListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JournalingListener.class);
+
+  private final EventJournal journal;
+  private final Counter failures;
+
+  JournalingListener(EventJournal journal, MeterRegistry meterRegistry) {
+    this.journal = journal;
+    this.failures = Counter.builder("journal.append.failures")
+        .description("Order events that could not be journaled").register(meterRegistry);
+  }
+
+  @EventListener
+  void on(OrderEvent event) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          append(event);
+        }
+      });
+    } else {
+      append(event);
+    }
+  }
+
+  private void append(OrderEvent event) {
+    try {
+      journal.append(event);
+    } catch (RuntimeException e) {
+      failures.increment();
+      LOGGER.error("Cannot journal {}", event, e);
+    }
+  }
+}
@@ -0,0 +1,303 @@
+package com.example.ordermanager.journal.internal;
+
+import com.example.ordermanager.events.OrderEvent;
+import com.example.ordermanager.journal.EventJournal;
+import com.example.ordermanager.journal.JournalReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * {@link EventJournal} on memory-mapped segment files. An append encodes the event on the calling
+ * thread and only holds the lock to copy the bytes into the mapping, so appends cost a memory copy,
+ * not a system call. A flusher thread forces the appended pages to disk every {@code flushInterval}
+ * or as soon as someone waits in {@link #awaitDurable}; everything appended up to then is covered
+ * by the one {@code msync}.
+ * <p>
+ * A record's offset is its segment's base offset plus its position in the segment, and the next
+ * segment starts where the previous one ended, so offsets stay contiguous across segments. Only
+ * the last segment can hold a torn record after a crash; on startup it is scanned up to the first
+ * record that is incomplete or fails its checksum, and the journal continues from there.
+ */
+@Component
+@EnableConfigurationProperties(JournalProperties.class)
+class MappedEventJournal implements EventJournal, DisposableBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MappedEventJournal.class);
+
+  private final Path directory;
+  private final int segmentSize;
+  private final JournalProperties.Retention retention;
+  private final long flushIntervalNanos;
+  private final FileChannel lockChannel;
+  private final FileLock lock;
+  private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+  private final ReentrantLock appendLock = new ReentrantLock();
+  private volatile Segment active;
+  private volatile long endOffset;
+  private boolean closed;
+
+  private final ReentrantLock flushLock = new ReentrantLock();
+  private final Condition flushRequested = flushLock.newCondition();
+  private final Condition flushed = flushLock.newCondition();
+  private final Thread flusher;
+  private volatile long durableOffset;
+  private boolean flushWanted;
+  private boolean flusherStopping;
+
+  MappedEventJournal(JournalProperties properties) {
+    Assert.isTrue(properties.segmentSize().toBytes() > EventCodec.HEADER_SIZE
+            && properties.segmentSize().toBytes() <= Integer.MAX_VALUE,
+        "Segment size must be between 8 bytes and 2GB");
+    Assert.isTrue(properties.flushInterval().isPositive(), "Flush interval must be positive");
+    this.directory = properties.directory();
+    this.segmentSize = (int) properties.segmentSize().toBytes();
+    this.retention = properties.retention();
+    this.flushIntervalNanos = properties.flushInterval().toNanos();
+    try {
+      Files.createDirectories(directory);
+      this.lockChannel = FileChannel.open(directory.resolve("journal.lock"),
+          StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      this.lock = tryLock(lockChannel);
+      if (lock == null) {
+        lockChannel.close();
+        throw new IllegalStateException("Journal " + directory + " is used by another instance");
+      }
+      recover();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open journal " + directory, e);
+    }
+    this.durableOffset = endOffset;
+    this.flusher = Thread.ofPlatform().name("journal-flusher").daemon().start(this::flushLoop);
+    LOGGER.info("Journal {} opened with {} segments, appending at offset {}", directory,
+        segments.size(), endOffset);
+  }
+
+  private static FileLock tryLock(FileChannel channel) throws IOException {
+    try {
+      return channel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      // Held by another journal in this JVM
+      return null;
+    }
+  }
+
+  private void recover() throws IOException {
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.filter(Segment::isSegment)
+          .sorted(Comparator.comparingLong(Segment::baseOffsetOf)).toList();
+    }
+    if (files.isEmpty()) {
+      activate(Segment.create(directory, 0, segmentSize));
+      return;
+    }
+    for (int i = 0; i < files.size() - 1; i++) {
+      long base = Segment.baseOffsetOf(files.get(i));
+      int written = Math.toIntExact(Segment.baseOffsetOf(files.get(i + 1)) - base);
+      Segment segment = Segment.openSealed(files.get(i), written);
+      segments.put(segment.baseOffset(), segment);
+    }
+    Segment last = Segment.recover(files.get(files.size() - 1));
+    activate(last);
+    if (last.hasTornTail()) {
+      // Start afresh rather than write over the torn record, so the stale bytes behind the new
+      // records can never be taken for records on the next recovery
+      LOGGER.warn("Journal segment {} ends in a torn record at offset {}, discarding it",
+          last.path(), endOffset);
+      roll(last);
+    }
+  }
+
+  @Override
+  public long append(OrderEvent event) {
+    ByteBuffer record = EventCodec.encode(event, System.currentTimeMillis());
+    if (record.limit() > segmentSize) {
+      throw new IllegalArgumentException(
+          "Record of " + record.limit() + " bytes does not fit in a segment");
+    }
+    appendLock.lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Journal is closed");
+      }
+      Segment segment = active;
+      if (!segment.fits(record.limit())) {
+        segment = roll(segment);
+      }
+      long offset = segment.append(record);
+      endOffset = offset + record.limit();
+      return offset;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot roll journal " + directory, e);
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * Forces the full segment and starts the next one where it ended. Called with the append lock
+   * held, or during recovery.
+   */
+  private Segment roll(Segment full) throws IOException {
+    full.force();
+    Segment next = Segment.create(directory, full.baseOffset() + full.written(), segmentSize);
+    activate(next);
+    deleteExpiredSegments();
+    return next;
+  }
+
+  private void activate(Segment segment) {
+    segments.put(segment.baseOffset(), segment);
+    active = segment;
+    endOffset = segment.baseOffset() + segment.written();
+  }
+
+  private void deleteExpiredSegments() {
+    long totalSize = segments.values().stream().mapToLong(Segment::capacity).sum();
+    long expiry = System.currentTimeMillis() - retention.maxAge().toMillis();
+    Iterator<Segment> oldestFirst = segments.values().iterator();
+    while (oldestFirst.hasNext()) {
+      Segment segment = oldestFirst.next();
+      if (segment == active) {
+        return;
+      }
+      try {
+        if (totalSize <= retention.maxSize().toBytes()
+            && Files.getLastModifiedTime(segment.path()).toMillis() >= expiry) {
+          return;
+        }
+        // Readers still positioned in the segment keep its mapping after the file is gone
+        oldestFirst.remove();
+        Files.deleteIfExists(segment.path());
+        totalSize -= segment.capacity();
+        LOGGER.info("Deleted journal segment {}", segment.path());
+      } catch (IOException e) {
+        LOGGER.warn("Cannot delete journal segment {}", segment.path(), e);
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void awaitDurable(long offset) throws InterruptedException {
+    if (offset >= endOffset) {
+      throw new IllegalArgumentException("Nothing has been appended at offset " + offset);
+    }
+    if (durableOffset > offset) {
+      return;
+    }
+    flushLock.lock();
+    try {
+      while (durableOffset <= offset) {
+        if (flusherStopping && !flusher.isAlive()) {
+          throw new IllegalStateException("Journal is closed");
+        }
+        flushWanted = true;
+        flushRequested.signal();
+        flushed.await();
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private void flushLoop() {
+    boolean stopping = false;
+    while (!stopping) {
+      flushLock.lock();
+      try {
+        if (!flushWanted && !flusherStopping) {
+          flushRequested.awaitNanos(flushIntervalNanos);
+        }
+        flushWanted = false;
+        stopping = flusherStopping;
+      } catch (InterruptedException e) {
+        stopping = true;
+      } finally {
+        flushLock.unlock();
+      }
+      long durable = durableOffset;
+      try {
+        // Earlier segments were forced when they rolled, so the active one is all that is left
+        durable = active.force();
+      } catch (RuntimeException e) {
+        LOGGER.error("Cannot flush journal {}", directory, e);
+      }
+      flushLock.lock();
+      try {
+        durableOffset = Math.max(durableOffset, durable);
+        flushed.signalAll();
+      } finally {
+        flushLock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public JournalReader read(long offset) {
+    if (offset > endOffset) {
+      throw new IllegalArgumentException(
+          "Offset " + offset + " is past the end of the journal at " + endOffset);
+    }
+    Map.Entry<Long, Segment> start = segments.floorEntry(offset);
+    if (start == null) {
+      // Before the oldest retained record
+      start = segments.firstEntry();
+      offset = start.getKey();
+    }
+    return new MappedJournalReader(segments, start.getValue(),
+        Math.toIntExact(offset - start.getKey()));
+  }
+
+  @Override
+  public long endOffset() {
+    return endOffset;
+  }
+
+  /**
+   * Flushes what was appended, stops the flusher and releases the directory.
+   */
+  @Override
+  public void destroy() throws IOException, InterruptedException {
+    appendLock.lock();
+    try {
+      closed = true;
+    } finally {
+      appendLock.unlock();
+    }
+    flushLock.lock();
+    try {
+      flusherStopping = true;
+      flushRequested.signal();
+    } finally {
+      flushLock.unlock();
+    }
+    flusher.join(TimeUnit.SECONDS.toMillis(10));
+    lock.release();
+    lockChannel.close();
+    LOGGER.info("Journal {} closed at offset {}", directory, endOffset);
+  }
+}
@@ -0,0 +1,104 @@
+package com.example.ordermanager.journal.internal;
+
+import com.example.ordermanager.events.OrderEvent;
+import com.example.ordermanager.journal.JournalReader;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Reads the records straight out of the mapped segments. Each reader has its own read-only view of
+ * the segment it is in, so readers never copy records and never block the appender.
+ */
+final class MappedJournalReader implements JournalReader {
+
+  private final NavigableMap<Long, Segment> segments;
+  private Segment segment;
+  private ByteBuffer view;
+  private int position;
+
+  private long offset = -1;
+  private byte type;
+  private long timestamp;
+  private ByteBuffer payload;
+
+  MappedJournalReader(NavigableMap<Long, Segment> segments, Segment segment, int position) {
+    this.segments = segments;
+    this.segment = segment;
+    this.view = segment.view();
+    this.position = position;
+  }
+
+  @Override
+  public boolean next() {
+    if (segment == null) {
+      throw new IllegalStateException("Reader is closed");
+    }
+    while (true) {
+      // Look for the next segment first: once it exists, the size read after it is final
+      Map.Entry<Long, Segment> following = segments.higherEntry(segment.baseOffset());
+      int written = segment.written();
+      if (position < written) {
+        readRecord(written);
+        return true;
+      }
+      if (following == null) {
+        return false;
+      }
+      segment = following.getValue();
+      view = segment.view();
+      position = 0;
+    }
+  }
+
+  private void readRecord(int limit) {
+    int length = Segment.recordLength(view, position, limit);
+    if (length == 0) {
+      throw new IllegalStateException(
+          "Corrupt journal record at offset " + (segment.baseOffset() + position));
+    }
+    offset = segment.baseOffset() + position;
+    type = view.get(position + EventCodec.HEADER_SIZE);
+    timestamp = view.getLong(position + EventCodec.HEADER_SIZE + Byte.BYTES);
+    payload = view.slice(position + EventCodec.HEADER_SIZE + EventCodec.BODY_PREFIX_SIZE,
+        length - EventCodec.BODY_PREFIX_SIZE);
+    position += EventCodec.HEADER_SIZE + length;
+  }
+
+  @Override
+  public long offset() {
+    checkRecord();
+    return offset;
+  }
+
+  @Override
+  public long timestamp() {
+    checkRecord();
+    return timestamp;
+  }
+
+  @Override
+  public ByteBuffer payload() {
+    checkRecord();
+    return payload.duplicate();
+  }
+
+  @Override
+  public OrderEvent event() {
+    checkRecord();
+    return EventCodec.decode(type, payload.duplicate());
+  }
+
+  @Override
+  public void close() {
+    segment = null;
+    view = null;
+    payload = null;
+  }
+
+  private void checkRecord() {
+    if (payload == null) {
+      throw new IllegalStateException("No current record");
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package com.example.ordermanager.journal.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One journal file, mapped into memory as a whole. Named after the offset of its first record, so
+ * the files sort in journal order. Only the last segment is written to; once the next one exists
+ * its {@link #written()} size no longer changes.
+ */
+final class Segment {
+
+  static final String SUFFIX = ".journal";
+
+  private final long baseOffset;
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  // Bytes of complete records. Written after the record bytes, so a reader that sees the new size
+  // also sees the record
+  private volatile int written;
+  private volatile int forced;
+
+  private Segment(long baseOffset, Path path, MappedByteBuffer buffer, int written) {
+    this.baseOffset = baseOffset;
+    this.path = path;
+    this.buffer = buffer;
+    this.written = written;
+    this.forced = written;
+  }
+
+  /**
+   * Creates an empty segment. The file is allocated sparsely, so unwritten pages read as zero.
+   */
+  static Segment create(Path directory, long baseOffset, int capacity) throws IOException {
+    Path path = directory.resolve(fileName(baseOffset));
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return new Segment(baseOffset, path,
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), 0);
+    }
+  }
+
+  /**
+   * Maps an existing segment whose size is known, because the next segment starts after it
+   */
+  static Segment openSealed(Path path, int written) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new Segment(baseOffsetOf(path), path,
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), written);
+    }
+  }
+
+  /**
+   * Maps the last segment for appending and finds its end by checking records until one is
+   * missing or torn.
+   */
+  static Segment recover(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+      int position = 0;
+      while (recordLength(buffer, position, buffer.capacity()) > 0) {
+        position += EventCodec.HEADER_SIZE + buffer.getInt(position);
+      }
+      return new Segment(baseOffsetOf(path), path, buffer, position);
+    }
+  }
+
+  /**
+   * Returns the length of the record at {@code position}, or 0 if there is no complete record with
+   * a valid checksum there
+   */
+  static int recordLength(ByteBuffer buffer, int position, int limit) {
+    if (limit - position < EventCodec.HEADER_SIZE) {
+      return 0;
+    }
+    int length = buffer.getInt(position);
+    if (length < EventCodec.BODY_PREFIX_SIZE
+        || length > limit - position - EventCodec.HEADER_SIZE) {
+      return 0;
+    }
+    int checksum = buffer.getInt(position + Integer.BYTES);
+    return checksum == EventCodec.checksum(buffer, position + EventCodec.HEADER_SIZE, length)
+        ? length : 0;
+  }
+
+  boolean fits(int recordSize) {
+    return buffer.capacity() - written >= recordSize;
+  }
+
+  /**
+   * Copies a complete record to the end of the segment. Only one thread may append at a time.
+   *
+   * @return the offset of the record
+   */
+  long append(ByteBuffer record) {
+    int position = written;
+    // The length goes in last: a torn write leaves a zero length behind, not a dangling record
+    buffer.put(position + Integer.BYTES, record, Integer.BYTES, record.limit() - Integer.BYTES);
+    buffer.putInt(position, record.getInt(0));
+    written = position + record.limit();
+    return baseOffset + position;
+  }
+
+  /**
+   * Whether bytes follow the last complete record, left behind by an append that did not make it
+   * to disk in full
+   */
+  boolean hasTornTail() {
+    return buffer.capacity() - written >= Integer.BYTES && buffer.getInt(written) != 0;
+  }
+
+  /**
+   * Writes the appended records to disk
+   *
+   * @return the offset up to which the segment is on disk
+   */
+  long force() {
+    int end = written;
+    int from = forced;
+    if (end > from) {
+      buffer.force(from, end - from);
+      forced = Math.max(forced, end);
+    }
+    return baseOffset + end;
+  }
+
+  /**
+   * Read-only view of the segment for one reader, sharing the mapped memory
+   */
+  ByteBuffer view() {
+    return buffer.asReadOnlyBuffer();
+  }
+
+  long baseOffset() {
+    return baseOffset;
+  }
+
+  int written() {
+    return written;
+  }
+
+  int capacity() {
+    return buffer.capacity();
+  }
+
+  Path path() {
+    return path;
+  }
+
+  static boolean isSegment(Path path) {
+    return path.getFileName().toString().endsWith(SUFFIX);
+  }
+
+  static long baseOffsetOf(Path path) {
+    String name = path.getFileName().toString();
+    return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+  }
+
+  private static String fileName(long baseOffset) {
+    return String.format("%020d%s", baseOffset, SUFFIX);
+  }
+}
@@ -0,0 +1,10 @@
+/**
+ * Journal module - Durable, append-only record of the order events.
+ * This module is responsible for:
+ * - Appending every committed order event to segmented memory-mapped files
+ * - Flushing appended events to disk in groups
+ * - Replaying the events from any offset without copying them out of the files
+ * - Rolling segments and deleting old ones
+ */
+@org.springframework.modulith.ApplicationModule(allowedDependencies = { "events" })
+package com.example.ordermanager.journal;
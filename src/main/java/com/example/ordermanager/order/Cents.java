@@ -0,0 +1,34 @@
+package com.example.ordermanager.order;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money amounts as a {@code long} number of cents, so totals can be summed without
+ * allocating and converted back to {@link BigDecimal} only at the edges.
+ */
+final class Cents {
+
+  private static final int SCALE = 2;
+
+  private Cents() {
+  }
+
+  /**
+   * Converts an amount to cents.
+   *
+   * @throws ArithmeticException if the amount has fractions of a cent or does not fit in a long
+   */
+  static long of(BigDecimal amount) {
+    return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+  }
+
+  /**
+   * Converts cents to an amount. Order and line item totals cache the result lazily in a plain
+   * field: the amount is immutable and every thread computes an equal one, so a race between two
+   * readers only costs a second allocation.
+   */
+  static BigDecimal toAmount(long cents) {
+    return BigDecimal.valueOf(cents, SCALE);
+  }
+}
@@ -0,0 +1,25 @@
+package com.example.ordermanager.order;
+
+/**
+ * Thrown when an order is moved to a status its current status does not lead to
+ */
+public class IllegalStatusTransitionException extends OrderProcessingException {
+
+  private final OrderStatus from;
+  private final OrderStatus to;
+
+  public IllegalStatusTransitionException(OrderStatus from, OrderStatus to) {
+    super("Order cannot go from " + from + " to " + to
+        + (from.next().isEmpty() ? ", " + from + " is final" : ", only to " + from.next()));
+    this.from = from;
+    this.to = to;
+  }
+
+  public OrderStatus getFrom() {
+    return from;
+  }
+
+  public OrderStatus getTo() {
+    return to;
+  }
+}
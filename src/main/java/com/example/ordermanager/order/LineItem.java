@@ -1,27 +1,51 @@
 package com.example.ordermanager.order;
 
+import com.example.ordermanager.id.SnowflakeId;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.math.BigDecimal;
 import org.springframework.util.Assert;
 
 @Entity
+@Table(indexes = @Index(name = "idx_line_item_order_id", columnList = "order_id"))
 public class LineItem {
 
   @Id
-  @GeneratedValue
+  @SnowflakeId
+  @JsonSerialize(using = ToStringSerializer.class)
   private Long id;
 
   private Long inventoryItemId;
   private int quantity;
   private BigDecimal price; // Price at the time of order
 
+  // Version of the price book the price was taken from, 0 if it was given explicitly
+  @Column(name = "price_version", nullable = false)
+  private long priceVersion;
+
+  // Fixed at construction, so the order total can be kept without multiplying on every read
+  @Column(name = "total_cents", nullable = false)
+  private long totalCents;
+
+  @Transient
+  private BigDecimal total;
+
   protected LineItem() {
     // JPA an-construction
   }
 
   public LineItem(Long inventoryItemId, int quantity, BigDecimal price) {
+    this(inventoryItemId, quantity, price, 0);
+  }
+
+  public LineItem(Long inventoryItemId, int quantity, BigDecimal price, long priceVersion) {
     Assert.notNull(inventoryItemId, "Inventory Item ID must not be null!");
     Assert.isTrue(quantity > 0, "Quantity must be greater than 0!");
     Assert.notNull(price, "Price must not be null!");
@@ -29,6 +53,8 @@ public class LineItem {
     this.inventoryItemId = inventoryItemId;
     this.quantity = quantity;
     this.price = price;
+    this.priceVersion = priceVersion;
+    this.totalCents = Math.multiplyExact(Cents.of(price), quantity);
   }
 
   public Long getId() {
@@ -47,7 +73,21 @@ public class LineItem {
     return price;
   }
 
+  public long getPriceVersion() {
+    return priceVersion;
+  }
+
   public BigDecimal getTotal() {
-    return price.multiply(BigDecimal.valueOf(quantity));
+    BigDecimal total = this.total;
+    if (total == null) {
+      total = Cents.toAmount(totalCents);
+      this.total = total;
+    }
+    return total;
+  }
+
+  @JsonIgnore
+  public long getTotalCents() {
+    return totalCents;
   }
 }
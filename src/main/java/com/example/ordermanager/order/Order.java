@@ -1,17 +1,25 @@
 package com.example.ordermanager.order;
 
 import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.id.SnowflakeId;
+import com.example.ordermanager.pricing.PriceSnapshot;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.springframework.util.Assert;
 
@@ -20,33 +28,86 @@ import org.springframework.util.Assert;
 public class Order {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  // Assigned in memory before the insert: no round trip for the key, inserts stay batchable
+  @SnowflakeId
+  // Snowflake ids exceed 2^53, which JavaScript clients cannot hold in a number
+  @JsonSerialize(using = ToStringSerializer.class)
   private Long id;
 
   @ManyToOne private Customer customer;
 
   private LocalDateTime orderDate;
-  private String status; // e.g., PENDING, SHIPPED, DELIVERED
+  @Convert(converter = OrderStatusConverter.class)
+  @Column(length = 1, nullable = false)
+  private OrderStatus status;
 
+  // Non-nullable join column: the FK is written with the line item insert, no join table
   @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+  @JoinColumn(name = "order_id", nullable = false, updatable = false)
   private List<LineItem> lineItems = new ArrayList<>();
 
+  // Sum of the line item totals, maintained by addLineItem and removeLineItem
+  @Column(name = "total_cents", nullable = false)
+  private long totalCents;
+
+  @Transient
+  private BigDecimal totalAmount;
+
   public Order(Customer customer) {
     Assert.notNull(customer, "Customer must not be null");
     this.customer = customer;
     this.orderDate = LocalDateTime.now();
-    this.status = "PENDING";
+    this.status = OrderStatus.PENDING;
   }
 
   protected Order() {
   }
 
+  /**
+   * Adds a line priced from the given price book, recording its version on the line.
+   */
+  public void addLineItem(Long inventoryItemId, int quantity, PriceSnapshot prices) {
+    addLineItem(new LineItem(inventoryItemId, quantity, prices.priceOf(inventoryItemId),
+        prices.version()));
+  }
+
+  /**
+   * Adds a line with an explicit price that did not come from the price book.
+   */
   public void addLineItem(Long inventoryItemId, int quantity, BigDecimal price) {
-    this.lineItems.add(new LineItem(inventoryItemId, quantity, price));
+    addLineItem(new LineItem(inventoryItemId, quantity, price));
+  }
+
+  private void addLineItem(LineItem lineItem) {
+    this.lineItems.add(lineItem);
+    setTotalCents(Math.addExact(totalCents, lineItem.getTotalCents()));
+  }
+
+  public boolean removeLineItem(LineItem lineItem) {
+    if (!this.lineItems.remove(lineItem)) {
+      return false;
+    }
+    setTotalCents(Math.subtractExact(totalCents, lineItem.getTotalCents()));
+    return true;
   }
 
   public BigDecimal getTotalAmount() {
-    return lineItems.stream().map(LineItem::getTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+    BigDecimal totalAmount = this.totalAmount;
+    if (totalAmount == null) {
+      totalAmount = Cents.toAmount(totalCents);
+      this.totalAmount = totalAmount;
+    }
+    return totalAmount;
+  }
+
+  @JsonIgnore
+  public long getTotalCents() {
+    return totalCents;
+  }
+
+  private void setTotalCents(long totalCents) {
+    this.totalCents = totalCents;
+    this.totalAmount = null;
   }
 
   // Getters and basic Setters
@@ -66,16 +127,31 @@ public class Order {
     return orderDate;
   }
 
-  public String getStatus() {
+  public OrderStatus getStatus() {
     return status;
   }
 
-  public void setStatus(String status) {
-    this.status = status;
+  /**
+   * Moves the order to the given status.
+   *
+   * @return the previous status
+   * @throws IllegalStatusTransitionException if the current status does not lead to {@code target}
+   */
+  public OrderStatus transitionTo(OrderStatus target) {
+    Assert.notNull(target, "Status must not be null");
+    if (!status.canTransitionTo(target)) {
+      throw new IllegalStatusTransitionException(status, target);
+    }
+    OrderStatus previous = status;
+    this.status = target;
+    return previous;
   }
 
+  /**
+   * Read-only, use {@link #addLineItem} and {@link #removeLineItem} so the total stays in sync.
+   */
   public List<LineItem> getLineItems() {
-    return lineItems;
+    return Collections.unmodifiableList(lineItems);
   }
 
   @Override
@@ -87,9 +163,8 @@ public class Order {
         + customer.getName()
         + ", orderDate="
         + orderDate
-        + ", status='"
+        + ", status="
         + status
-        + "'"
         + ", totalAmount="
         + getTotalAmount()
         + '}';
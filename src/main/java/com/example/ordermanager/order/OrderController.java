@@ -1,17 +1,32 @@
 package com.example.ordermanager.order;
 
 import com.example.ordermanager.api.ApiResponse;
+import com.example.ordermanager.api.CursorPage;
 import com.example.ordermanager.customer.Customer;
 import com.example.ordermanager.customer.CustomerManagement;
 import com.example.ordermanager.events.LineItemData;
-import com.example.ordermanager.inventory.InventoryItem;
+import com.example.ordermanager.inventory.InventoryItemDetails;
 import com.example.ordermanager.inventory.InventoryManagement;
+import com.example.ordermanager.pricing.PriceCatalog;
+import com.example.ordermanager.pricing.PriceSnapshot;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -21,21 +36,60 @@ public class OrderController {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(OrderController.class);
   private final OrderRepository orderRepository;
+  private final OrderSummaryRepository orderSummaryRepository;
   private final CustomerManagement customerManagement;
   private final InventoryManagement inventoryManagement;
+  private final PriceCatalog priceCatalog;
   private final OrderEventPublisher orderEventPublisher;
+  private final OrderExporter orderExporter;
+  private final OrderMetrics orderMetrics;
+  // Orders are saved and their events published in one transaction, so the event publication
+  // registry records the events together with the order and listeners only see committed orders
+  private final TransactionTemplate transactionTemplate;
 
-  public OrderController(OrderRepository orderRepository, CustomerManagement customerManagement,
-      InventoryManagement inventoryManagement, OrderEventPublisher orderEventPublisher) {
+  public OrderController(OrderRepository orderRepository,
+      OrderSummaryRepository orderSummaryRepository, CustomerManagement customerManagement,
+      InventoryManagement inventoryManagement, PriceCatalog priceCatalog,
+      OrderEventPublisher orderEventPublisher, OrderExporter orderExporter,
+      OrderMetrics orderMetrics, PlatformTransactionManager transactionManager) {
     this.orderRepository = orderRepository;
+    this.orderSummaryRepository = orderSummaryRepository;
     this.customerManagement = customerManagement;
     this.inventoryManagement = inventoryManagement;
+    this.priceCatalog = priceCatalog;
     this.orderEventPublisher = orderEventPublisher;
+    this.orderExporter = orderExporter;
+    this.orderMetrics = orderMetrics;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
+  /**
+   * Lists orders from the {@link OrderSummary} read model, which the event listeners update shortly
+   * after each change.
+   */
   @GetMapping
-  public ApiResponse<List<Order>> getAllOrders() {
-    return ApiResponse.success(orderRepository.findAll());
+  public ApiResponse<CursorPage<OrderSummary>> getAllOrders(@RequestParam(required = false) String after,
+      @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit,
+      @RequestParam(required = false) String status) {
+    long afterId;
+    OrderStatus orderStatus;
+    try {
+      afterId = CursorPage.decode(after);
+      CursorPage.checkLimit(limit);
+      orderStatus = status == null ? null : OrderStatus.parse(status);
+    } catch (IllegalArgumentException e) {
+      return ApiResponse.badRequest(e.getMessage());
+    }
+    List<OrderSummary> orders = orderStatus == null
+        ? orderSummaryRepository.findPage(afterId, Limit.of(limit + 1))
+        : orderSummaryRepository.findPage(orderStatus, afterId, Limit.of(limit + 1));
+    return ApiResponse.success(CursorPage.of(orders, limit, OrderSummary::getId));
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportOrders() {
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+        .body(orderExporter::exportTo);
   }
 
   @GetMapping("/{id}")
@@ -58,26 +112,26 @@ public class OrderController {
 
       Order order = new Order(customerOpt.get());
 
+      // One query for all line items instead of one per line
+      Map<Long, InventoryItemDetails> inventoryItems = inventoryManagement.findAllById(
+          orderRequest.items().stream().map(LineItemRequest::inventoryItemId).toList());
+
+      // All lines are priced from the same in-memory snapshot
+      PriceSnapshot prices = priceCatalog.current();
       for (LineItemRequest itemRequest : orderRequest.items()) {
-        Optional<InventoryItem> inventoryItemOpt =
-            inventoryManagement.findById(itemRequest.inventoryItemId());
-        if (inventoryItemOpt.isEmpty()) {
+        if (!inventoryItems.containsKey(itemRequest.inventoryItemId())) {
           return ApiResponse
               .badRequest("Inventory item not found with id: " + itemRequest.inventoryItemId());
         }
         // For simplicity, we are not checking stock here, but we should in a real app
-        // Also, we'll just use a fixed price for now
-        order.addLineItem(itemRequest.inventoryItemId(), itemRequest.quantity(),
-            new BigDecimal("10.00"));
+        order.addLineItem(itemRequest.inventoryItemId(), itemRequest.quantity(), prices);
       }
 
-      var result = orderRepository.save(order);
-
-      List<LineItemData> lineItemDataList = result.getLineItems().stream().map(
-          item -> new LineItemData(item.getInventoryItemId(), item.getQuantity(), item.getPrice()))
-          .collect(Collectors.toList());
-
-      orderEventPublisher.publishOrderCreated(result.getId(), lineItemDataList);
+      Order result = transactionTemplate.execute(status -> {
+        Order saved = orderRepository.save(order);
+        orderEventPublisher.publishOrderCreated(saved.getId(), toLineItemData(saved));
+        return saved;
+      });
 
       return ApiResponse.success("Order created successfully", result);
     } catch (Exception e) {
@@ -86,6 +140,66 @@ public class OrderController {
     }
   }
 
+  @PostMapping("/batch")
+  public ApiResponse<List<BatchOrderResult>> createOrders(
+      @RequestBody List<OrderRequest> orderRequests) {
+    if (orderRequests == null || orderRequests.isEmpty()) {
+      return ApiResponse.badRequest("Batch must contain at least one order");
+    }
+    try {
+      // Validate the whole batch with one customer and one inventory query
+      Map<Long, Customer> customers = customerManagement.findAllById(
+          orderRequests.stream().filter(Objects::nonNull).map(OrderRequest::customerId).toList());
+      Map<Long, InventoryItemDetails> inventoryItems = inventoryManagement.findAllById(orderRequests
+          .stream().filter(request -> request != null && request.items() != null)
+          .flatMap(request -> request.items().stream()).filter(Objects::nonNull)
+          .map(LineItemRequest::inventoryItemId).toList());
+
+      PriceSnapshot prices = priceCatalog.current();
+      BatchOrderResult[] results = new BatchOrderResult[orderRequests.size()];
+      List<Integer> acceptedIndexes = new ArrayList<>();
+      List<Order> accepted = new ArrayList<>();
+
+      for (int index = 0; index < orderRequests.size(); index++) {
+        OrderRequest orderRequest = orderRequests.get(index);
+        String problem = validate(orderRequest, customers, inventoryItems);
+        if (problem != null) {
+          results[index] = BatchOrderResult.rejected(index, problem);
+          continue;
+        }
+        Order order = new Order(customers.get(orderRequest.customerId()));
+        for (LineItemRequest itemRequest : orderRequest.items()) {
+          order.addLineItem(itemRequest.inventoryItemId(), itemRequest.quantity(), prices);
+        }
+        acceptedIndexes.add(index);
+        accepted.add(order);
+      }
+
+      // One transaction for the whole batch lets Hibernate batch the inserts
+      Map<Long, List<LineItemData>> created = transactionTemplate.execute(status -> {
+        List<Order> saved = orderRepository.saveAll(accepted);
+        Map<Long, List<LineItemData>> lineItemData = new LinkedHashMap<>();
+        for (int i = 0; i < saved.size(); i++) {
+          Order order = saved.get(i);
+          results[acceptedIndexes.get(i)] =
+              BatchOrderResult.created(acceptedIndexes.get(i), order.getId());
+          lineItemData.put(order.getId(), toLineItemData(order));
+        }
+        if (!lineItemData.isEmpty()) {
+          orderEventPublisher.publishOrdersCreated(lineItemData);
+        }
+        return lineItemData;
+      });
+
+      return ApiResponse.success(
+          "Created " + created.size() + " of " + orderRequests.size() + " orders",
+          Arrays.asList(results));
+    } catch (Exception e) {
+      LOGGER.error("Error creating order batch: ", e);
+      return ApiResponse.serverError("Failed to create order batch: " + e.getMessage());
+    }
+  }
+
   @PutMapping("/{id}/status")
   public ApiResponse<Order> updateOrderStatus(@PathVariable Long id,
       @RequestBody StatusUpdateRequest statusUpdate) {
@@ -93,31 +207,43 @@ public class OrderController {
       if (id == null) {
         return ApiResponse.badRequest("Order ID cannot be null");
       }
-      Optional<Order> orderOpt = orderRepository.findById(id);
-      if (orderOpt.isEmpty()) {
-        return ApiResponse.notFound("Order not found with id: " + id);
-      }
-      Order order = orderOpt.get();
-      String oldStatus = order.getStatus();
-      String newStatus = statusUpdate.status();
-
-      order.setStatus(newStatus);
-      Order savedOrder = orderRepository.save(order);
-
-      // Publish status updated event
-      orderEventPublisher.publishOrderStatusUpdated(savedOrder.getId(), oldStatus, newStatus);
-
-      // Publish specific events based on status
-      if ("SHIPPED".equalsIgnoreCase(newStatus)) {
-        orderEventPublisher.publishOrderShipped(savedOrder.getId());
-      } else if ("DELIVERED".equalsIgnoreCase(newStatus)) {
-        orderEventPublisher.publishOrderDelivered(savedOrder.getId());
-      } else if ("CANCELLED".equalsIgnoreCase(newStatus)) {
-        orderEventPublisher.publishOrderCancelled(savedOrder.getId(),
-            "Order status updated to cancelled");
+      OrderStatus newStatus;
+      try {
+        newStatus = OrderStatus.parse(statusUpdate.status());
+      } catch (IllegalArgumentException e) {
+        return ApiResponse.badRequest(e.getMessage());
       }
+      return transactionTemplate.execute(status -> {
+        // Locked, or two concurrent requests could both pass the transition check
+        Optional<Order> orderOpt = orderRepository.findByIdForUpdate(id);
+        if (orderOpt.isEmpty()) {
+          return ApiResponse.notFound("Order not found with id: " + id);
+        }
+        Order order = orderOpt.get();
+        OrderStatus oldStatus;
+        try {
+          oldStatus = order.transitionTo(newStatus);
+        } catch (IllegalStatusTransitionException e) {
+          return ApiResponse.error(409, e.getMessage());
+        }
+        Order savedOrder = orderRepository.save(order);
+
+        // Publish status updated event
+        orderEventPublisher.publishOrderStatusUpdated(savedOrder.getId(), oldStatus.name(),
+            newStatus.name());
 
-      return ApiResponse.success("Order status updated successfully", savedOrder);
+        // Publish specific events based on status
+        switch (newStatus) {
+          case SHIPPED -> orderEventPublisher.publishOrderShipped(savedOrder.getId());
+          case DELIVERED -> orderEventPublisher.publishOrderDelivered(savedOrder.getId());
+          case CANCELLED -> orderEventPublisher.publishOrderCancelled(savedOrder.getId(),
+              "Order status updated to cancelled");
+          default -> {
+          }
+        }
+
+        return ApiResponse.success("Order status updated successfully", savedOrder);
+      });
     } catch (Exception e) {
       LOGGER.error("Error updating order status: ", e);
       return ApiResponse.serverError("Failed to update order status: " + e.getMessage());
@@ -129,12 +255,51 @@ public class OrderController {
     if (id == null) {
       return ApiResponse.badRequest("Order ID cannot be null");
     }
-    if (orderRepository.existsById(id)) {
+    return transactionTemplate.execute(status -> {
+      if (!orderRepository.existsById(id)) {
+        return ApiResponse.notFound("Order not found with id: " + id);
+      }
+      // There is no event for deletions, so the summary and the metrics are updated here
       orderRepository.deleteById(id);
+      orderSummaryRepository.findById(id).ifPresent(summary -> {
+        orderSummaryRepository.delete(summary);
+        orderMetrics.orderDeleted(summary.getStatus());
+      });
       return ApiResponse.success(204, "Order deleted successfully", null);
-    } else {
-      return ApiResponse.notFound("Order not found with id: " + id);
+    });
+  }
+
+  /**
+   * Returns why the given batch entry cannot be placed, or {@code null} if it is valid.
+   */
+  private static String validate(OrderRequest orderRequest, Map<Long, Customer> customers,
+      Map<Long, InventoryItemDetails> inventoryItems) {
+    if (orderRequest == null) {
+      return "Order cannot be null";
     }
+    if (!customers.containsKey(orderRequest.customerId())) {
+      return "Customer not found with id: " + orderRequest.customerId();
+    }
+    if (orderRequest.items() == null) {
+      return "Order items cannot be null";
+    }
+    for (LineItemRequest itemRequest : orderRequest.items()) {
+      if (itemRequest == null || !inventoryItems.containsKey(itemRequest.inventoryItemId())) {
+        return "Inventory item not found with id: "
+            + (itemRequest == null ? null : itemRequest.inventoryItemId());
+      }
+      if (itemRequest.quantity() <= 0) {
+        return "Quantity must be greater than 0 for inventory item: "
+            + itemRequest.inventoryItemId();
+      }
+    }
+    return null;
+  }
+
+  private static List<LineItemData> toLineItemData(Order order) {
+    return order.getLineItems().stream().map(
+        item -> new LineItemData(item.getInventoryItemId(), item.getQuantity(), item.getPrice()))
+        .collect(Collectors.toList());
   }
 }
 
@@ -149,3 +314,16 @@ record LineItemRequest(Long inventoryItemId, int quantity) {
 
 record StatusUpdateRequest(String status) {
 }
+
+
+record BatchOrderResult(int index, boolean success,
+    @JsonSerialize(using = ToStringSerializer.class) Long orderId, String message) {
+
+  static BatchOrderResult created(int index, Long orderId) {
+    return new BatchOrderResult(index, true, orderId, "Order created successfully");
+  }
+
+  static BatchOrderResult rejected(int index, String message) {
+    return new BatchOrderResult(index, false, null, message);
+  }
+}
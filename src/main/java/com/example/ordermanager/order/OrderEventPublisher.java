@@ -2,10 +2,16 @@ package com.example.ordermanager.order;
 
 import com.example.ordermanager.events.LineItemData;
 import java.util.List;
+import java.util.Map;
 
 public interface OrderEventPublisher {
   void publishOrderCreated(Long orderId, List<LineItemData> lineItemDataList);
 
+  /**
+   * Publishes one {@code OrderCreated} event per entry, in iteration order.
+   */
+  void publishOrdersCreated(Map<Long, List<LineItemData>> lineItemDataByOrderId);
+
   void publishOrderStatusUpdated(Long orderId, String oldStatus, String newStatus);
 
   void publishOrderShipped(Long orderId);
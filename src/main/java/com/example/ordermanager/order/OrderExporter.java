@@ -0,0 +1,16 @@
+package com.example.ordermanager.order;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes every order with its line items as newline-delimited JSON, one order per line.
+ */
+public interface OrderExporter {
+
+  /**
+   * Streams all orders to the given output without holding more than a handful of them in memory.
+   * The output stream is flushed but not closed.
+   */
+  void exportTo(OutputStream out) throws IOException;
+}
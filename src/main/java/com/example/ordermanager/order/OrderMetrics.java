@@ -0,0 +1,27 @@
+package com.example.ordermanager.order;
+
+/**
+ * Live order figures kept in memory from the order events, cheap enough to poll from a dashboard.
+ * They start from the {@code order_summary} table when the application starts and are only updated
+ * once the change that caused them has committed.
+ */
+public interface OrderMetrics {
+
+  /**
+   * Largest number of inventory items a snapshot may rank
+   */
+  int MAX_TOP_SKUS = 100;
+
+  /**
+   * Reads the current figures without taking locks or touching the database.
+   *
+   * @param topSkus how many of the best selling inventory items to include
+   */
+  OrderMetricsSnapshot snapshot(int topSkus);
+
+  /**
+   * Takes a deleted order out of the status counts. Deleting an order publishes no event, so the
+   * caller reports it directly.
+   */
+  void orderDeleted(OrderStatus status);
+}
@@ -0,0 +1,23 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.api.ApiResponse;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/metrics/orders")
+class OrderMetricsController {
+
+  private final OrderMetrics orderMetrics;
+
+  OrderMetricsController(OrderMetrics orderMetrics) {
+    this.orderMetrics = orderMetrics;
+  }
+
+  @GetMapping
+  ApiResponse<OrderMetricsSnapshot> getOrderMetrics(@RequestParam(defaultValue = "10") int top) {
+    if (top < 0 || top > OrderMetrics.MAX_TOP_SKUS) {
+      return ApiResponse.badRequest("Top must be between 0 and " + OrderMetrics.MAX_TOP_SKUS);
+    }
+    return ApiResponse.success(orderMetrics.snapshot(top));
+  }
+}
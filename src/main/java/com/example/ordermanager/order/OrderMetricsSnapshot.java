@@ -0,0 +1,25 @@
+package com.example.ordermanager.order;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of the {@link OrderMetrics}.
+ *
+ * @param takenAt When the snapshot was taken
+ * @param ordersByStatus Number of orders currently in each status
+ * @param lastMinute Orders placed in the last minute and their value
+ * @param lastHour Orders placed in the last hour and their value
+ * @param topSkus Inventory items by quantity ordered since startup, best selling first
+ */
+public record OrderMetricsSnapshot(Instant takenAt, Map<OrderStatus, Long> ordersByStatus,
+    Window lastMinute, Window lastHour, List<SkuQuantity> topSkus) {
+
+  public record Window(long orders, BigDecimal revenue) {
+  }
+
+  public record SkuQuantity(Long inventoryItemId, long quantity) {
+  }
+}
@@ -1,8 +1,34 @@
 package com.example.ordermanager.order;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+  /**
+   * Streams all orders with customer and line items fetched in the same query. The caller must
+   * consume and close the stream inside a transaction.
+   */
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("select o from Order o join fetch o.customer left join fetch o.lineItems order by o.id")
+  Stream<Order> streamAllWithLineItems();
+
+  /**
+   * Loads an order and locks its row until the surrounding transaction ends, so concurrent status
+   * changes of one order run one after the other and each sees the status the previous one left.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select o from Order o where o.id = :id")
+  Optional<Order> findByIdForUpdate(@Param("id") Long id);
 }
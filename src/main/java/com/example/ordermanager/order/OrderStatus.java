@@ -0,0 +1,90 @@
+package com.example.ordermanager.order;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Lifecycle of an order. An order starts {@link #PENDING}, is {@link #SHIPPED} and then
+ * {@link #DELIVERED}. It can only be {@link #CANCELLED} while it is still pending; delivered and
+ * cancelled orders are final.
+ */
+public enum OrderStatus {
+
+  PENDING('P'),
+  SHIPPED('S'),
+  DELIVERED('D'),
+  CANCELLED('C');
+
+  private final char code;
+
+  OrderStatus(char code) {
+    this.code = code;
+  }
+
+  /**
+   * One-character code stored in the {@code orders.status} column.
+   */
+  public char code() {
+    return code;
+  }
+
+  public boolean canTransitionTo(OrderStatus target) {
+    return next().contains(target);
+  }
+
+  public Set<OrderStatus> next() {
+    return switch (this) {
+      case PENDING -> EnumSet.of(SHIPPED, CANCELLED);
+      case SHIPPED -> EnumSet.of(DELIVERED);
+      case DELIVERED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+    };
+  }
+
+  /**
+   * The statuses this one can be reached from in one or more transitions. Statuses never go back,
+   * so an order in any other status has already passed this one or can no longer get here.
+   */
+  public Set<OrderStatus> predecessors() {
+    Set<OrderStatus> predecessors = EnumSet.noneOf(OrderStatus.class);
+    boolean grown = true;
+    while (grown) {
+      grown = false;
+      for (OrderStatus status : values()) {
+        if (!predecessors.contains(status) && (status.canTransitionTo(this)
+            || status.next().stream().anyMatch(predecessors::contains))) {
+          grown = predecessors.add(status);
+        }
+      }
+    }
+    return predecessors;
+  }
+
+  public static OrderStatus fromCode(char code) {
+    for (OrderStatus status : values()) {
+      if (status.code == code) {
+        return status;
+      }
+    }
+    throw new IllegalArgumentException("Unknown order status code: " + code);
+  }
+
+  /**
+   * Parses a status name, ignoring case.
+   *
+   * @throws IllegalArgumentException naming the valid statuses if {@code name} is not one of them
+   */
+  public static OrderStatus parse(String name) {
+    if (name != null) {
+      try {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        // Fall through to the message below
+      }
+    }
+    throw new IllegalArgumentException("Unknown order status '" + name + "', expected one of "
+        + Arrays.stream(values()).map(Enum::name).collect(Collectors.joining(", ")));
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.ordermanager.order;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores an {@link OrderStatus} as its one-character code, which keeps the status index small and,
+ * unlike the ordinal, does not change meaning when statuses are added or reordered.
+ */
+@Converter
+class OrderStatusConverter implements AttributeConverter<OrderStatus, Character> {
+
+  @Override
+  public Character convertToDatabaseColumn(OrderStatus status) {
+    return status == null ? null : status.code();
+  }
+
+  @Override
+  public OrderStatus convertToEntityAttribute(Character code) {
+    return code == null ? null : OrderStatus.fromCode(code);
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.ordermanager.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the {@code order_summary} read model: everything a listing shows about an order,
+ * flattened into a single table so a page is one index range scan without joins or line items.
+ * Rows are written by the order event listeners, never by the request that changed the order, so
+ * they may briefly lag behind the {@code orders} table.
+ */
+@Entity
+// The status index leads with the status and ends with the id, so a keyset page of orders in one
+// status is a single index range scan
+@Table(name = "order_summary",
+    indexes = @Index(name = "idx_order_summary_status_order_id", columnList = "status, order_id"))
+public class OrderSummary {
+
+  @Id
+  @Column(name = "order_id")
+  @JsonSerialize(using = ToStringSerializer.class)
+  private Long id;
+
+  private Long customerId;
+  private String customerName;
+  @Convert(converter = OrderStatusConverter.class)
+  @Column(length = 1, nullable = false)
+  private OrderStatus status;
+  @Column(name = "total_cents", nullable = false)
+  private long totalCents;
+  // Sum of the line item quantities
+  private int itemCount;
+  private LocalDateTime createdAt;
+  // When the projection last applied a change to this row
+  private LocalDateTime updatedAt;
+
+  protected OrderSummary() {
+  }
+
+  // Rows are inserted by the projection queries, this is for building summaries in tests
+  OrderSummary(Long id, Long customerId, String customerName, OrderStatus status, long totalCents,
+      int itemCount, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    this.id = id;
+    this.customerId = customerId;
+    this.customerName = customerName;
+    this.status = status;
+    this.totalCents = totalCents;
+    this.itemCount = itemCount;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Long getCustomerId() {
+    return customerId;
+  }
+
+  public String getCustomerName() {
+    return customerName;
+  }
+
+  public OrderStatus getStatus() {
+    return status;
+  }
+
+  public BigDecimal getTotalAmount() {
+    return Cents.toAmount(totalCents);
+  }
+
+  @JsonIgnore
+  public long getTotalCents() {
+    return totalCents;
+  }
+
+  public int getItemCount() {
+    return itemCount;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.api.ApiResponse;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/order-summaries")
+class OrderSummaryController {
+
+  private final OrderSummaryProjection orderSummaryProjection;
+
+  OrderSummaryController(OrderSummaryProjection orderSummaryProjection) {
+    this.orderSummaryProjection = orderSummaryProjection;
+  }
+
+  @PostMapping("/rebuild")
+  ApiResponse<Integer> rebuild() {
+    int projected = orderSummaryProjection.rebuild();
+    return ApiResponse.success("Rebuilt " + projected + " order summaries", projected);
+  }
+}
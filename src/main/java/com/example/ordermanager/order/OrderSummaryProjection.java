@@ -0,0 +1,15 @@
+package com.example.ordermanager.order;
+
+/**
+ * Maintains the {@link OrderSummary} read model from order events.
+ */
+public interface OrderSummaryProjection {
+
+  /**
+   * Throws away every summary and projects them again from the {@code orders} table, e.g. after the
+   * projection changed or events were lost.
+   *
+   * @return the number of summaries written
+   */
+  int rebuild();
+}
@@ -0,0 +1,85 @@
+package com.example.ordermanager.order;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads and writes the {@link OrderSummary} read model. All writes are single statements that are
+ * safe to repeat, so an event that is delivered twice or late leaves the summary unchanged.
+ */
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+  String PROJECT_ORDERS = "insert into OrderSummary "
+      + "(id, customerId, customerName, status, totalCents, itemCount, createdAt, updatedAt) "
+      + "select o.id, c.id, c.name, o.status, o.totalCents, "
+      + "cast(coalesce(sum(li.quantity), 0) as Integer), o.orderDate, cast(:now as LocalDateTime) "
+      + "from Order o join o.customer c left join o.lineItems li ";
+
+  String GROUP_BY_ORDER = " group by o.id, c.id, c.name, o.status, o.totalCents, o.orderDate";
+
+  @Query("select s from OrderSummary s where s.id > :after order by s.id")
+  List<OrderSummary> findPage(@Param("after") Long after, Limit limit);
+
+  /**
+   * Like {@link #findPage(Long, Limit)} but only orders in the given status, read through the
+   * {@code (status, order_id)} index.
+   */
+  @Query("select s from OrderSummary s where s.status = :status and s.id > :after order by s.id")
+  List<OrderSummary> findPage(@Param("status") OrderStatus status, @Param("after") Long after,
+      Limit limit);
+
+  @Query("select s.status from OrderSummary s where s.id = :orderId")
+  Optional<OrderStatus> findStatusById(@Param("orderId") Long orderId);
+
+  @Query("select s.status as status, count(s) as orders from OrderSummary s group by s.status")
+  List<StatusCount> countByStatus();
+
+  /**
+   * Projects the current state of one order unless it already has a summary.
+   *
+   * @return 1 if a summary was written, 0 if it existed or the order is gone
+   */
+  @Modifying
+  @Query(PROJECT_ORDERS + "where o.id = :orderId "
+      + "and not exists (select 1 from OrderSummary s where s.id = o.id)" + GROUP_BY_ORDER)
+  int insertIfAbsent(@Param("orderId") Long orderId, @Param("now") LocalDateTime now);
+
+  /**
+   * Projects every order that has no summary. The listeners keep running during a rebuild, so a
+   * summary can appear between emptying the table and this insert.
+   *
+   * @return the number of summaries written
+   */
+  @Modifying
+  @Query(PROJECT_ORDERS + "where not exists (select 1 from OrderSummary s where s.id = o.id)"
+      + GROUP_BY_ORDER)
+  int insertAll(@Param("now") LocalDateTime now);
+
+  /**
+   * Moves a summary to {@code status} if it is currently in one of the statuses {@code from}. Order
+   * statuses never go back, so a repeated or stale update matches no row.
+   *
+   * @return 1 if the summary changed, 0 otherwise
+   */
+  @Modifying
+  @Query("update OrderSummary s set s.status = :status, s.updatedAt = :now "
+      + "where s.id = :orderId and s.status in :from")
+  int updateStatus(@Param("orderId") Long orderId, @Param("status") OrderStatus status,
+      @Param("from") Collection<OrderStatus> from, @Param("now") LocalDateTime now);
+
+  interface StatusCount {
+
+    OrderStatus getStatus();
+
+    long getOrders();
+  }
+}
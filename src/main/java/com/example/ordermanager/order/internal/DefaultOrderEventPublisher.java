@@ -11,6 +11,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 
 @Component
 class DefaultOrderEventPublisher implements OrderEventPublisher {
@@ -25,6 +26,12 @@ class DefaultOrderEventPublisher implements OrderEventPublisher {
     events.publishEvent(new OrderCreated(orderId, lineItemDataList));
   }
 
+  @Override
+  public void publishOrdersCreated(Map<Long, List<LineItemData>> lineItemDataByOrderId) {
+    lineItemDataByOrderId.forEach(
+        (orderId, lineItemData) -> events.publishEvent(new OrderCreated(orderId, lineItemData)));
+  }
+
   @Override
   public void publishOrderStatusUpdated(Long orderId, String oldStatus, String newStatus) {
     events.publishEvent(new OrderStatusUpdated(orderId, oldStatus, newStatus));
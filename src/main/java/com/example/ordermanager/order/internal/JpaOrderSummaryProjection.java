@@ -0,0 +1,97 @@
+package com.example.ordermanager.order.internal;
+
+import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.order.OrderSummaryProjection;
+import com.example.ordermanager.order.OrderSummaryRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies order events to the {@code order_summary} table with single, repeatable statements. The
+ * event listeners call it inside their own transaction, after the order change has committed.
+ */
+@Component
+class JpaOrderSummaryProjection implements OrderSummaryProjection {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JpaOrderSummaryProjection.class);
+
+  private final OrderSummaryRepository orderSummaryRepository;
+  private final LiveOrderMetrics orderMetrics;
+
+  JpaOrderSummaryProjection(OrderSummaryRepository orderSummaryRepository,
+      LiveOrderMetrics orderMetrics) {
+    this.orderSummaryRepository = orderSummaryRepository;
+    this.orderMetrics = orderMetrics;
+  }
+
+  /**
+   * Projects a new order from the {@code orders} table, which also holds the customer and the
+   * order date that the event does not carry. Does nothing if the summary already exists.
+   *
+   * @return whether a summary was written
+   */
+  boolean orderCreated(Long orderId) {
+    return orderSummaryRepository.insertIfAbsent(orderId, LocalDateTime.now()) == 1;
+  }
+
+  /**
+   * Moves the summary to {@code status} unless it is already there or past it. A summary that does
+   * not exist yet is projected from the order, which already has the new status; the
+   * {@code OrderCreated} event that arrives after that finds the summary and writes nothing.
+   *
+   * @return how the summary changed, empty if it did not
+   */
+  Optional<SummaryChange> statusChanged(Long orderId, OrderStatus status) {
+    LocalDateTime now = LocalDateTime.now();
+    Optional<OrderStatus> current = orderSummaryRepository.findStatusById(orderId);
+    if (current.isEmpty()) {
+      if (orderSummaryRepository.insertIfAbsent(orderId, now) == 0) {
+        return Optional.empty();
+      }
+      return orderSummaryRepository.findStatusById(orderId).map(SummaryChange.Inserted::new);
+    }
+    // Only moves from the status just read, so the caller learns exactly what changed
+    if (!status.predecessors().contains(current.get())
+        || orderSummaryRepository.updateStatus(orderId, status, Set.of(current.get()), now) == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(new SummaryChange.Moved(current.get(), status));
+  }
+
+  /**
+   * Also recounts the live orders by status from the new summaries once they are committed, as the
+   * rebuild exists for summaries that the events no longer account for.
+   */
+  @Override
+  @Transactional
+  public int rebuild() {
+    orderSummaryRepository.deleteAllInBatch();
+    int projected = orderSummaryRepository.insertAll(LocalDateTime.now());
+    orderMetrics.recount(orderSummaryRepository.countByStatus());
+    LOGGER.info("Rebuilt {} order summaries", projected);
+    return projected;
+  }
+
+  /**
+   * What a status event did to the summary of its order.
+   */
+  sealed interface SummaryChange {
+
+    /**
+     * The summary moved from one status to the next.
+     */
+    record Moved(OrderStatus from, OrderStatus to) implements SummaryChange {
+    }
+
+    /**
+     * The order had no summary yet and was projected in the status it has by now.
+     */
+    record Inserted(OrderStatus status) implements SummaryChange {
+    }
+  }
+}
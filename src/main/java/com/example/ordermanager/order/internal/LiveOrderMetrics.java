@@ -0,0 +1,165 @@
+package com.example.ordermanager.order.internal;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.order.OrderMetrics;
+import com.example.ordermanager.order.OrderMetricsSnapshot;
+import com.example.ordermanager.order.OrderMetricsSnapshot.SkuQuantity;
+import com.example.ordermanager.order.OrderMetricsSnapshot.Window;
+import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.order.OrderSummaryRepository;
+import java.math.BigDecimal;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link OrderMetrics} on {@link LongAdder}s, which spread concurrent updates over striped cells
+ * instead of contending on one word, so the event listener threads never wait for each other.
+ * Revenue is kept in per-second and per-minute {@link RollingWindow}s.
+ */
+@Component
+class LiveOrderMetrics implements OrderMetrics {
+
+  private final InstantSource clock;
+  private final Map<OrderStatus, LongAdder> ordersByStatus = new EnumMap<>(OrderStatus.class);
+  private final RollingWindow lastMinute = new RollingWindow(60, TimeUnit.SECONDS.toMillis(1));
+  private final RollingWindow lastHour = new RollingWindow(60, TimeUnit.MINUTES.toMillis(1));
+  private final ConcurrentHashMap<Long, LongAdder> quantityBySku = new ConcurrentHashMap<>();
+
+  @Autowired
+  LiveOrderMetrics(OrderSummaryRepository orderSummaryRepository) {
+    this(InstantSource.system());
+    // One grouped query at startup, from then on the events keep the counts
+    orderSummaryRepository.countByStatus()
+        .forEach(count -> ordersByStatus.get(count.getStatus()).add(count.getOrders()));
+  }
+
+  LiveOrderMetrics(InstantSource clock) {
+    this.clock = clock;
+    for (OrderStatus status : OrderStatus.values()) {
+      ordersByStatus.put(status, new LongAdder());
+    }
+  }
+
+  /**
+   * Counts a new pending order, its value and the quantity of every item on it.
+   */
+  void orderPlaced(List<LineItemData> lineItems) {
+    orderPlaced(OrderStatus.PENDING, lineItems);
+  }
+
+  /**
+   * Counts a new order that is first seen in {@code status}, when a status event got to the
+   * projection before the order's {@code OrderCreated} event.
+   */
+  void orderPlaced(OrderStatus status, List<LineItemData> lineItems) {
+    afterCommit(() -> {
+      long cents = 0;
+      for (LineItemData lineItem : lineItems) {
+        cents = Math.addExact(cents, Math.multiplyExact(
+            lineItem.price().movePointRight(2).longValueExact(), lineItem.quantity()));
+        LongAdder quantity = quantityBySku.get(lineItem.inventoryItemId());
+        if (quantity == null) {
+          quantity = quantityBySku.computeIfAbsent(lineItem.inventoryItemId(),
+              inventoryItemId -> new LongAdder());
+        }
+        quantity.add(lineItem.quantity());
+      }
+      ordersByStatus.get(status).increment();
+      long now = clock.millis();
+      lastMinute.add(now, cents);
+      lastHour.add(now, cents);
+    });
+  }
+
+  void statusChanged(OrderStatus from, OrderStatus to) {
+    afterCommit(() -> {
+      ordersByStatus.get(from).decrement();
+      ordersByStatus.get(to).increment();
+    });
+  }
+
+  /**
+   * Replaces the orders by status with {@code counts} once the surrounding transaction has
+   * committed. Status changes that are counted between the query and the commit are lost.
+   */
+  void recount(List<OrderSummaryRepository.StatusCount> counts) {
+    afterCommit(() -> {
+      Map<OrderStatus, Long> orders = new EnumMap<>(OrderStatus.class);
+      counts.forEach(count -> orders.put(count.getStatus(), count.getOrders()));
+      ordersByStatus.forEach((status, adder) -> {
+        adder.reset();
+        adder.add(orders.getOrDefault(status, 0L));
+      });
+    });
+  }
+
+  @Override
+  public void orderDeleted(OrderStatus status) {
+    afterCommit(() -> ordersByStatus.get(status).decrement());
+  }
+
+  @Override
+  public OrderMetricsSnapshot snapshot(int topSkus) {
+    long now = clock.millis();
+    Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+    ordersByStatus.forEach((status, orders) -> byStatus.put(status, orders.sum()));
+    return new OrderMetricsSnapshot(clock.instant(), byStatus, window(lastMinute, now),
+        window(lastHour, now), topSkus(topSkus));
+  }
+
+  private static Window window(RollingWindow window, long now) {
+    RollingWindow.Totals totals = window.totals(now);
+    return new Window(totals.count(), BigDecimal.valueOf(totals.sum(), 2));
+  }
+
+  /**
+   * Keeps the {@code limit} largest quantities in a min-heap, so ranking costs a single pass over
+   * the items instead of a full sort.
+   */
+  private List<SkuQuantity> topSkus(int limit) {
+    if (limit <= 0) {
+      return List.of();
+    }
+    PriorityQueue<SkuQuantity> top =
+        new PriorityQueue<>(limit + 1, Comparator.comparingLong(SkuQuantity::quantity));
+    quantityBySku.forEach((inventoryItemId, quantity) -> {
+      top.offer(new SkuQuantity(inventoryItemId, quantity.sum()));
+      if (top.size() > limit) {
+        top.poll();
+      }
+    });
+    List<SkuQuantity> skus = new ArrayList<>(top);
+    skus.sort(Comparator.comparingLong(SkuQuantity::quantity).reversed()
+        .thenComparing(SkuQuantity::inventoryItemId));
+    return skus;
+  }
+
+  /**
+   * Runs the update once the surrounding transaction has committed, so a listener that fails and
+   * is retried from the publication registry does not count twice.
+   */
+  private static void afterCommit(Runnable update) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          update.run();
+        }
+      });
+    } else {
+      update.run();
+    }
+  }
+}
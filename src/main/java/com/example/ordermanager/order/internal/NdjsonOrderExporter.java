@@ -0,0 +1,61 @@
+package com.example.ordermanager.order.internal;
+
+import com.example.ordermanager.order.Order;
+import com.example.ordermanager.order.OrderExporter;
+import com.example.ordermanager.order.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+class NdjsonOrderExporter implements OrderExporter {
+
+  private final OrderRepository orderRepository;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+
+  NdjsonOrderExporter(OrderRepository orderRepository, EntityManager entityManager,
+      ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+    this.orderRepository = orderRepository;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+  }
+
+  @Override
+  public void exportTo(OutputStream out) throws IOException {
+    try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      // The stream keeps a cursor open, so it has to be consumed inside the transaction
+      transactionTemplate.executeWithoutResult(status -> {
+        try (Stream<Order> orders = orderRepository.streamAllWithLineItems()) {
+          Iterator<Order> iterator = orders.iterator();
+          while (iterator.hasNext()) {
+            Order order = iterator.next();
+            objectMapper.writeValue(generator, order);
+            generator.writeRaw('\n');
+            // Written rows are never needed again, keep the persistence context from growing
+            entityManager.detach(order);
+            entityManager.detach(order.getCustomer());
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+}
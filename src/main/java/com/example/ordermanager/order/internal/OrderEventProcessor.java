@@ -1,59 +1,105 @@
 package com.example.ordermanager.order.internal;
 
+import com.example.ordermanager.events.LineItemData;
 import com.example.ordermanager.events.OrderCancelled;
 import com.example.ordermanager.events.OrderCreated;
 import com.example.ordermanager.events.OrderDelivered;
 import com.example.ordermanager.events.OrderShipped;
 import com.example.ordermanager.events.OrderStatusUpdated;
+import com.example.ordermanager.order.LineItem;
+import com.example.ordermanager.order.Order;
 import com.example.ordermanager.order.OrderRepository;
+import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.order.internal.JpaOrderSummaryProjection.SummaryChange;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.modulith.events.ApplicationModuleListener;
 import org.springframework.stereotype.Service;
 
+/**
+ * Keeps the order summary read model and the live order metrics in step with the order events. Every
+ * update is idempotent, so events that are resubmitted from the publication registry are safe to
+ * apply again: the metrics only count what actually changed the summary.
+ */
 @Service
 public class OrderEventProcessor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OrderEventProcessor.class);
 
-    public OrderEventProcessor(OrderRepository orderRepository) {
+    private final JpaOrderSummaryProjection orderSummaryProjection;
+    private final LiveOrderMetrics orderMetrics;
+    private final OrderRepository orderRepository;
+
+    OrderEventProcessor(JpaOrderSummaryProjection orderSummaryProjection,
+            LiveOrderMetrics orderMetrics, OrderRepository orderRepository) {
+        this.orderSummaryProjection = orderSummaryProjection;
+        this.orderMetrics = orderMetrics;
+        this.orderRepository = orderRepository;
     }
 
-    @Async("applicationEventExecutor")
-    @EventListener
+    @ApplicationModuleListener
     public void onOrderCreated(OrderCreated event) {
         LOGGER.info("Processing OrderCreated event for order ID: {}", event.orderId());
-        // Additional business logic can be implemented here
+        if (orderSummaryProjection.orderCreated(event.orderId())) {
+            orderMetrics.orderPlaced(event.lineItemsData());
+        }
     }
 
-    @Async("applicationEventExecutor")
-    @EventListener
+    @ApplicationModuleListener
     public void onOrderStatusUpdated(OrderStatusUpdated event) {
         LOGGER.info("Processing OrderStatusUpdated event for order ID: {} ({} -> {})",
                 event.orderId(), event.oldStatus(), event.newStatus());
-        // Additional business logic can be implemented here
+        OrderStatus status;
+        try {
+            status = OrderStatus.parse(event.newStatus());
+        } catch (IllegalArgumentException e) {
+            // Publications from before the status machine can carry other statuses, e.g.
+            // PROCESSING. Failing would leave them to be resubmitted forever.
+            LOGGER.warn("Skipping OrderStatusUpdated event for order ID: {} with unknown status {}",
+                    event.orderId(), event.newStatus());
+            return;
+        }
+        statusChanged(event.orderId(), status);
     }
 
-    @Async("applicationEventExecutor")
-    @EventListener
+    @ApplicationModuleListener
     public void onOrderShipped(OrderShipped event) {
         LOGGER.info("Processing OrderShipped event for order ID: {}", event.orderId());
-        // Additional business logic can be implemented here
+        statusChanged(event.orderId(), OrderStatus.SHIPPED);
     }
 
-    @Async("applicationEventExecutor")
-    @EventListener
+    @ApplicationModuleListener
     public void onOrderDelivered(OrderDelivered event) {
         LOGGER.info("Processing OrderDelivered event for order ID: {}", event.orderId());
-        // Additional business logic can be implemented here
+        statusChanged(event.orderId(), OrderStatus.DELIVERED);
     }
 
-    @Async("applicationEventExecutor")
-    @EventListener
+    @ApplicationModuleListener
     public void onOrderCancelled(OrderCancelled event) {
         LOGGER.info("Processing OrderCancelled event for order ID: {} (Reason: {})",
                 event.orderId(), event.reason());
-        // Additional business logic can be implemented here
+        statusChanged(event.orderId(), OrderStatus.CANCELLED);
+    }
+
+    private void statusChanged(Long orderId, OrderStatus status) {
+        orderSummaryProjection.statusChanged(orderId, status).ifPresent(change -> {
+            switch (change) {
+                case SummaryChange.Moved moved ->
+                        orderMetrics.statusChanged(moved.from(), moved.to());
+                // The OrderCreated event that follows finds the summary, so the order counts here
+                case SummaryChange.Inserted inserted ->
+                        orderMetrics.orderPlaced(inserted.status(), lineItemsOf(orderId));
+            }
+        });
+    }
+
+    private List<LineItemData> lineItemsOf(Long orderId) {
+        List<LineItem> lineItems =
+                orderRepository.findById(orderId).map(Order::getLineItems).orElse(List.of());
+        return lineItems.stream()
+                .map(lineItem -> new LineItemData(lineItem.getInventoryItemId(),
+                        lineItem.getQuantity(), lineItem.getPrice()))
+                .toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.example.ordermanager.order.internal;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count and sum of the values added during the last {@code buckets} periods, kept in a ring of
+ * buckets. Each bucket is tagged with the period it belongs to, so a stale bucket is swapped out by
+ * the first writer of a new period instead of being cleared by a timer, and writers never lock.
+ */
+final class RollingWindow {
+
+  // Stands in for buckets that have already left the window, values added to it are dropped
+  private static final Bucket EXPIRED = new Bucket(Long.MIN_VALUE);
+
+  private final long periodMillis;
+  private final AtomicReferenceArray<Bucket> buckets;
+
+  RollingWindow(int buckets, long periodMillis) {
+    this.periodMillis = periodMillis;
+    this.buckets = new AtomicReferenceArray<>(buckets);
+  }
+
+  void add(long nowMillis, long amount) {
+    Bucket bucket = bucket(nowMillis / periodMillis);
+    bucket.count.increment();
+    bucket.sum.add(amount);
+  }
+
+  Totals totals(long nowMillis) {
+    long period = nowMillis / periodMillis;
+    long count = 0;
+    long sum = 0;
+    for (int slot = 0; slot < buckets.length(); slot++) {
+      Bucket bucket = buckets.get(slot);
+      if (bucket != null && bucket.period <= period && bucket.period > period - buckets.length()) {
+        count += bucket.count.sum();
+        sum += bucket.sum.sum();
+      }
+    }
+    return new Totals(count, sum);
+  }
+
+  private Bucket bucket(long period) {
+    int slot = (int) Math.floorMod(period, (long) buckets.length());
+    while (true) {
+      Bucket bucket = buckets.get(slot);
+      if (bucket != null && bucket.period == period) {
+        return bucket;
+      }
+      if (bucket != null && bucket.period > period) {
+        // A writer that read the clock a whole window ago lost the race for its slot
+        return EXPIRED;
+      }
+      Bucket fresh = new Bucket(period);
+      if (buckets.compareAndSet(slot, bucket, fresh)) {
+        return fresh;
+      }
+    }
+  }
+
+  record Totals(long count, long sum) {
+  }
+
+  private static final class Bucket {
+
+    private final long period;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    private Bucket(long period) {
+      this.period = period;
+    }
+  }
+}
@@ -3,8 +3,8 @@
  * This module is responsible for:
  * - Creating and managing order entities
  * - Processing order lifecycle events
- * - Coordinating with customer and inventory modules
+ * - Coordinating with customer, inventory and pricing modules
  * - Publishing order-related events to other modules
  */
-@org.springframework.modulith.ApplicationModule(allowedDependencies = { "customer", "inventory", "events", "api" })
+@org.springframework.modulith.ApplicationModule(allowedDependencies = { "customer", "inventory", "pricing", "id", "events", "api" })
 package com.example.ordermanager.order;
\ No newline at end of file
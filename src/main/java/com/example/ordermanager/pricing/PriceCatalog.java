@@ -0,0 +1,22 @@
+package com.example.ordermanager.pricing;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public interface PriceCatalog {
+
+  /**
+   * Returns the current price book. Never blocks and never touches the database.
+   */
+  PriceSnapshot current();
+
+  /**
+   * Replaces the whole price book. Readers see either the old or the new snapshot, never a mix.
+   *
+   * @param defaultPrice price of items without an entry, {@code null} keeps the current one
+   * @param prices price per inventory item id, items missing here fall back to the default
+   * @return the new snapshot
+   * @throws IllegalArgumentException if a price is negative or not a whole number of cents
+   */
+  PriceSnapshot reload(BigDecimal defaultPrice, Map<Long, BigDecimal> prices);
+}
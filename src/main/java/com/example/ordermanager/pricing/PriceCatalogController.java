@@ -0,0 +1,40 @@
+package com.example.ordermanager.pricing;
+
+import com.example.ordermanager.api.ApiResponse;
+import java.math.BigDecimal;
+import java.util.Map;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/prices")
+class PriceCatalogController {
+
+  private final PriceCatalog priceCatalog;
+
+  PriceCatalogController(PriceCatalog priceCatalog) {
+    this.priceCatalog = priceCatalog;
+  }
+
+  @GetMapping
+  ApiResponse<PriceSnapshot> getPrices() {
+    return ApiResponse.success(priceCatalog.current());
+  }
+
+  @PutMapping
+  ApiResponse<PriceSnapshot> reloadPrices(@RequestBody PriceReload reload) {
+    if (reload == null) {
+      return ApiResponse.badRequest("Price reload cannot be null");
+    }
+    try {
+      PriceSnapshot snapshot = priceCatalog.reload(reload.defaultPrice(),
+          reload.prices() == null ? Map.of() : reload.prices());
+      return ApiResponse.success("Loaded price book version " + snapshot.version(), snapshot);
+    } catch (IllegalArgumentException e) {
+      return ApiResponse.badRequest(e.getMessage());
+    }
+  }
+}
+
+
+record PriceReload(BigDecimal defaultPrice, Map<Long, BigDecimal> prices) {
+}
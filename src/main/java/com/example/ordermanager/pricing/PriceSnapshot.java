@@ -0,0 +1,43 @@
+package com.example.ordermanager.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable price book as of one reload. Price all lines of an order from the same snapshot so they
+ * are consistent with each other and with the {@link #version()} recorded on them.
+ *
+ * @param version increases with every reload
+ * @param defaultPrice price of items without an entry in {@code prices}
+ * @param prices price per inventory item id
+ */
+public record PriceSnapshot(long version, BigDecimal defaultPrice, Map<Long, BigDecimal> prices) {
+
+  public PriceSnapshot {
+    defaultPrice = normalize(defaultPrice, "Default price");
+    Assert.notNull(prices, "Prices must not be null!");
+    Map<Long, BigDecimal> normalized = new HashMap<>(prices.size());
+    prices.forEach((id, price) -> {
+      Assert.notNull(id, "Inventory item id must not be null!");
+      normalized.put(id, normalize(price, "Price of inventory item " + id));
+    });
+    prices = Map.copyOf(normalized);
+  }
+
+  public BigDecimal priceOf(Long inventoryItemId) {
+    return prices.getOrDefault(inventoryItemId, defaultPrice);
+  }
+
+  private static BigDecimal normalize(BigDecimal price, String name) {
+    Assert.notNull(price, name + " must not be null!");
+    Assert.isTrue(price.signum() >= 0, name + " must not be negative!");
+    try {
+      return price.setScale(2, RoundingMode.UNNECESSARY);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException(name + " must be a whole number of cents: " + price);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.ordermanager.pricing.internal;
+
+import com.example.ordermanager.pricing.PriceCatalog;
+import com.example.ordermanager.pricing.PriceSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-on-write price book: a reload builds a complete new {@link PriceSnapshot} and swaps it in
+ * with a single reference update, so readers only ever do a volatile read.
+ */
+@Service
+@EnableConfigurationProperties(PricingProperties.class)
+class InMemoryPriceCatalog implements PriceCatalog {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryPriceCatalog.class);
+
+  private final AtomicReference<PriceSnapshot> current;
+
+  InMemoryPriceCatalog(PricingProperties properties) {
+    this.current = new AtomicReference<>(new PriceSnapshot(1, properties.defaultPrice(), Map.of()));
+  }
+
+  @Override
+  public PriceSnapshot current() {
+    return current.get();
+  }
+
+  /**
+   * Reloads are rare, so they are serialized instead of retried: each one gets the next version and
+   * the copy of a large price book is built once.
+   */
+  @Override
+  public synchronized PriceSnapshot reload(BigDecimal defaultPrice, Map<Long, BigDecimal> prices) {
+    PriceSnapshot previous = current.get();
+    PriceSnapshot snapshot = new PriceSnapshot(previous.version() + 1,
+        defaultPrice == null ? previous.defaultPrice() : defaultPrice, prices);
+    current.set(snapshot);
+    LOGGER.debug("Loaded price book version {} with {} prices.", snapshot.version(),
+        snapshot.prices().size());
+    return snapshot;
+  }
+}
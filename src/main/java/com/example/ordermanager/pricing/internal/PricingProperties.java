@@ -0,0 +1,15 @@
+package com.example.ordermanager.pricing.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+
+/**
+ * Settings for {@link InMemoryPriceCatalog}.
+ *
+ * @param defaultPrice Price of every item until a price book is loaded that says otherwise
+ */
+@ConfigurationProperties("order-manager.pricing")
+record PricingProperties(@DefaultValue("10.00") BigDecimal defaultPrice) {
+}
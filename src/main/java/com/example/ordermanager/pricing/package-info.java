@@ -0,0 +1,8 @@
+/**
+ * Pricing module - Holds the price of every inventory item in memory. This module is responsible
+ * for:
+ * - Serving prices to order placement without locking or database access
+ * - Replacing the whole price book atomically on reload
+ */
+@org.springframework.modulith.ApplicationModule(allowedDependencies = { "api" })
+package com.example.ordermanager.pricing;
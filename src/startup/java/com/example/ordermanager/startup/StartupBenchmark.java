@@ -0,0 +1,188 @@
+package com.example.ordermanager.startup;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application built by {@code mvn -Paot package} over and over and reports how long each
+ * start took until {@code GET /health} first answered 200, per mode:
+ *
+ * <ul>
+ *   <li>{@code default}: the extracted jar as it is
+ *   <li>{@code aot}: with the ahead-of-time generated bean definitions
+ *   <li>{@code aot-cds}: additionally loading classes from the archive of the training run
+ * </ul>
+ *
+ * All modes start from the same extracted jar, so they differ only in the two optimizations:
+ *
+ * <pre>
+ * mvn -Paot,startup verify -Dstartup.args="--runs=10"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+  private static final String USAGE = """
+      Options (all optional):
+        --directory=target/cds  extracted application with application.jsa
+        --runs=5                starts per mode, after one unmeasured start
+        --timeout=60s           how long one start may take
+      """;
+
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+  private final Path directory;
+  private final Path jar;
+  private final int runs;
+  private final Duration timeout;
+  private final HttpClient http = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(1))
+      .build();
+
+  private StartupBenchmark(Path directory, int runs, Duration timeout) throws IOException {
+    this.directory = directory.toAbsolutePath();
+    try (var files = Files.list(this.directory)) {
+      this.jar = files.filter(file -> file.getFileName().toString().endsWith(".jar")).findFirst()
+          .orElseThrow(() -> new IllegalArgumentException(
+              "No extracted jar in " + directory + ", build it with mvn -Paot package"));
+    }
+    if (!Files.exists(this.directory.resolve("application.jsa"))) {
+      throw new IllegalArgumentException(
+          "No application.jsa in " + directory + ", build it with mvn -Paot package");
+    }
+    this.runs = runs;
+    this.timeout = timeout;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Path directory = Path.of("target/cds");
+    int runs = 5;
+    Duration timeout = Duration.ofSeconds(60);
+    StartupBenchmark benchmark;
+    try {
+      for (String arg : args) {
+        int separator = arg.indexOf('=');
+        if (!arg.startsWith("--") || separator < 0) {
+          throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+        }
+        String value = arg.substring(separator + 1);
+        switch (arg.substring(2, separator)) {
+          case "directory" -> directory = Path.of(value);
+          case "runs" -> runs = Integer.parseInt(value);
+          case "timeout" -> timeout = Duration.ofSeconds(
+              Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+          default -> throw new IllegalArgumentException("Unknown option " + arg);
+        }
+      }
+      benchmark = new StartupBenchmark(directory, runs, timeout);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(USAGE);
+      System.exit(2);
+      return;
+    }
+    benchmark.run();
+  }
+
+  private void run() throws Exception {
+    List<String> rows = new ArrayList<>();
+    for (Mode mode : Mode.values()) {
+      // The first start warms the page cache for the jars and the archive
+      start(mode, 0);
+      long[] millis = new long[runs];
+      for (int run = 0; run < runs; run++) {
+        millis[run] = start(mode, run + 1);
+        System.out.printf("%-8s run %d: %,6d ms%n", mode.label, run + 1, millis[run]);
+      }
+      Arrays.sort(millis);
+      rows.add(String.format("%-8s %,8d %,8d %,8d", mode.label, millis[0], millis[runs / 2],
+          millis[runs - 1]));
+    }
+    System.out.println();
+    System.out.println("Time to first successful GET /health, ms");
+    System.out.printf("%-8s %8s %8s %8s%n", "mode", "min", "median", "max");
+    rows.forEach(System.out::println);
+  }
+
+  /**
+   * Starts the application in the given mode on a free port, waits for its health endpoint and
+   * stops it again.
+   *
+   * @return Milliseconds from launching the JVM until the first successful health check
+   */
+  private long start(Mode mode, int run) throws Exception {
+    int port = freePort();
+    Path journal = Files.createTempDirectory("startup-journal");
+    Path log = directory.resolve(mode.label + "-" + run + ".log");
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(mode.options);
+    command.add("-Dserver.port=" + port);
+    command.add("-Dorder-manager.journal.directory=" + journal);
+    command.add("-jar");
+    command.add(jar.toString());
+
+    long start = System.nanoTime();
+    Process process = new ProcessBuilder(command).directory(directory.toFile())
+        .redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    try {
+      HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/health"))
+          .timeout(Duration.ofSeconds(1)).build();
+      long deadline = start + timeout.toNanos();
+      while (System.nanoTime() < deadline) {
+        if (!process.isAlive()) {
+          throw new IllegalStateException(
+              mode.label + " start exited with " + process.exitValue() + ", see " + log);
+        }
+        try {
+          if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+          }
+        } catch (ConnectException e) {
+          // Not listening yet
+        }
+        Thread.sleep(POLL_INTERVAL);
+      }
+      throw new IllegalStateException(mode.label + " start took longer than " + timeout
+          + ", see " + log);
+    } finally {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+        process.destroyForcibly().waitFor();
+      }
+    }
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private enum Mode {
+    DEFAULT("default", List.of()),
+    AOT("aot", List.of("-Dspring.aot.enabled=true")),
+    AOT_CDS("aot-cds", List.of("-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=off",
+        "-Dspring.aot.enabled=true"));
+
+    private final String label;
+    private final List<String> options;
+
+    Mode(String label, List<String> options) {
+      this.label = label;
+      this.options = options;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.example.ordermanager;
+
+import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.customer.CustomerRepository;
+import com.example.ordermanager.order.Order;
+import com.example.ordermanager.order.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Starts the application with observability on, as it runs outside of tests, where module
+ * observability proxies the beans that other modules call.
+ */
+@SpringBootTest
+@AutoConfigureObservability
+class ObservedApplicationTest {
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private CustomerRepository customerRepository;
+
+  @Test
+  void startsAndGeneratesIds() {
+    Customer customer = customerRepository.save(new Customer("Observed", "observed@example.com"));
+    Order order = new Order(customer);
+    order.addLineItem(1L, 1, new BigDecimal("10.00"));
+
+    assertNotNull(orderRepository.save(order).getId());
+  }
+}
@@ -0,0 +1,121 @@
+package com.example.ordermanager.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+            new ConcurrencyLimitProperties(true, 20, 4, 100, 1.5, 0.2, Duration.ofMillis(100),
+                    Duration.ofSeconds(10), Duration.ofSeconds(1)),
+            now::get);
+
+    @Test
+    void rejectsRequestsBeyondTheLimitUntilOneCompletes() {
+        List<AdaptiveConcurrencyLimit.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            permits.add(limit.tryAcquire());
+        }
+
+        assertNull(limit.tryAcquire());
+        assertEquals(1, limit.getRejected());
+
+        permits.get(0).release(false);
+        assertNotNull(limit.tryAcquire());
+        assertEquals(20, limit.getInFlight());
+    }
+
+    @Test
+    void growsWhileLatencyStaysAtTheBaseline() {
+        for (int window = 0; window < 20; window++) {
+            runWindow(limit.getLimit(), 10);
+        }
+        assertTrue(limit.getLimit() > 30, "Limit only grew to " + limit.getLimit());
+
+        for (int window = 0; window < 100; window++) {
+            runWindow(limit.getLimit(), 10);
+        }
+        assertEquals(100, limit.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyClimbsAboveTheBaseline() {
+        for (int window = 0; window < 5; window++) {
+            runWindow(limit.getLimit(), 10);
+        }
+        int beforeSlowdown = limit.getLimit();
+
+        for (int window = 0; window < 20; window++) {
+            runWindow(limit.getLimit(), 100);
+        }
+
+        assertTrue(limit.getLimit() < beforeSlowdown / 2,
+                "Limit went from " + beforeSlowdown + " to " + limit.getLimit());
+    }
+
+    @Test
+    void staysLowWhileASlowdownOutlastsTheBaselinePeriod() {
+        for (int window = 0; window < 5; window++) {
+            runWindow(limit.getLimit(), 10);
+        }
+        int beforeSlowdown = limit.getLimit();
+
+        // Twice the 10s baseline period, which an unguarded baseline would have caught up with
+        for (int window = 0; window < 200; window++) {
+            runWindow(limit.getLimit(), 100);
+        }
+
+        assertTrue(limit.getLimit() < beforeSlowdown / 2,
+                "Limit went from " + beforeSlowdown + " to " + limit.getLimit());
+    }
+
+    @Test
+    void staysPutWhileMostOfTheLimitIsUnused() {
+        for (int window = 0; window < 20; window++) {
+            runWindow(5, 10);
+        }
+        for (int window = 0; window < 20; window++) {
+            runWindow(5, 100);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void backsOffOnServerErrorsDownToTheMinimum() {
+        limit.tryAcquire().release(true);
+        assertEquals(18, limit.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire().release(true);
+        }
+        assertEquals(4, limit.getLimit());
+    }
+
+    /**
+     * Runs requests of the given latency, {@code concurrency} at a time, until one limit window
+     * has passed
+     */
+    private void runWindow(int concurrency, long latencyMillis) {
+        long end = now.get() + TimeUnit.MILLISECONDS.toNanos(100);
+        while (now.get() < end) {
+            List<AdaptiveConcurrencyLimit.Permit> permits = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                permits.add(limit.tryAcquire());
+            }
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+            permits.forEach(permit -> permit.release(false));
+        }
+    }
+}
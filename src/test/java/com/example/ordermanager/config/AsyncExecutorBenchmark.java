@@ -0,0 +1,77 @@
+package com.example.ordermanager.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform, virtual thread and keyed executors under a burst of listeners that spend all their
+ * time blocked, the way the event listeners wait on JDBC. Only runs on request:
+ *
+ * <pre>
+ * mvn test -Dtest=AsyncExecutorBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AsyncExecutorBenchmark {
+
+    private static final int TASKS = 2_000;
+    private static final long BLOCKING_MILLIS = 20;
+
+    @Test
+    void blockingListenerBurst() throws Exception {
+        run("platform 4-10 threads, queue 100", properties(AsyncProperties.Mode.PLATFORM, 10));
+        run("virtual, concurrency limit 10", properties(AsyncProperties.Mode.VIRTUAL, 10));
+        run("virtual, concurrency limit 50", properties(AsyncProperties.Mode.VIRTUAL, 50));
+        run("keyed, one lane per processor", properties(AsyncProperties.Mode.KEYED, 10));
+    }
+
+    private static AsyncProperties properties(AsyncProperties.Mode mode, int concurrencyLimit) {
+        return new AsyncProperties(mode, new AsyncProperties.Platform(4, 10, 100),
+                new AsyncProperties.Virtual(concurrencyLimit), new AsyncProperties.Keyed(0, 100));
+    }
+
+    private void run(String name, AsyncProperties properties) throws Exception {
+        Executor executor = AsyncConfig.createExecutor(properties);
+        CountDownLatch done = new CountDownLatch(TASKS);
+        int rejected = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(BLOCKING_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                rejected++;
+                done.countDown();
+            }
+        }
+        done.await(5, TimeUnit.MINUTES);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        int completed = TASKS - rejected;
+        double throughput = completed * 1000.0 / Math.max(1, elapsedMillis);
+        System.out.printf("%-32s completed %,5d rejected %,5d in %,6d ms (%,.0f tasks/s)%n", name,
+                completed, rejected, elapsedMillis, throughput);
+
+        if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        } else if (executor instanceof DisposableBean bean) {
+            bean.destroy();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.events.OrderCancelled;
+import com.example.ordermanager.events.OrderCreated;
+import com.example.ordermanager.events.OrderDelivered;
+import com.example.ordermanager.events.OrderShipped;
+import com.example.ordermanager.events.OrderStatusUpdated;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+
+class BinaryEventSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BinaryEventSerializer binary = new BinaryEventSerializer(objectMapper, true);
+    private final BinaryEventSerializer json = new BinaryEventSerializer(objectMapper, false);
+
+    static Stream<Object> orderEvents() {
+        return Stream.of(
+                new OrderCreated(480_763_289_457_115_136L,
+                        List.of(new LineItemData(1L, 2, new BigDecimal("19.99")),
+                                new LineItemData(2L, 1, new BigDecimal("-0.5")),
+                                new LineItemData(3L, 7, new BigDecimal("1E+3")))),
+                new OrderCreated(1L, List.of()),
+                new OrderStatusUpdated(2L, "PENDING", "SHIPPED"),
+                new OrderShipped(3L),
+                new OrderDelivered(Long.MAX_VALUE),
+                new OrderCancelled(5L, "Kunde hat storniert – zu spät"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("orderEvents")
+    void writesOrderEventsInBinaryAndReadsThemBack(Object event) {
+        Object serialized = binary.serialize(event);
+
+        assertEquals(BinaryEventSerializer.BINARY_PREFIX, serialized.toString().charAt(0));
+        assertEquals(event, binary.deserialize(serialized, event.getClass()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("orderEvents")
+    void readsJsonRowsWrittenBeforeBinaryWasIntroduced(Object event) throws Exception {
+        String row = objectMapper.writeValueAsString(event);
+
+        assertEquals(event, binary.deserialize(row, event.getClass()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("orderEvents")
+    void readsBinaryRowsAfterSwitchingBackToJson(Object event) {
+        Object row = binary.serialize(event);
+
+        assertEquals(event, json.deserialize(row, event.getClass()));
+        assertEquals('{', json.serialize(event).toString().charAt(0));
+    }
+
+    @Test
+    void writesLineItemsWithMissingValuesAsJson() {
+        for (LineItemData lineItem : List.of(new LineItemData(null, 1, BigDecimal.ONE),
+                new LineItemData(1L, 1, null))) {
+            OrderCreated event = new OrderCreated(1L, List.of(lineItem));
+
+            Object serialized = binary.serialize(event);
+
+            assertEquals('{', serialized.toString().charAt(0));
+            assertEquals(event, binary.deserialize(serialized, event.getClass()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {OrderCreated.class, OrderStatusUpdated.class, OrderShipped.class,
+            OrderDelivered.class, OrderCancelled.class})
+    void writesEventsWithMissingValuesAsJson(Class<?> type) {
+        // The constructors reject nulls, a mock gets past them the way a foreign producer might
+        Object event = mock(type, invocation -> invocation.getMethod().getDeclaringClass() == type
+                ? null : RETURNS_DEFAULTS.answer(invocation));
+
+        assertEquals('{', binary.serialize(event).toString().charAt(0));
+    }
+
+    @Test
+    void writesEventsItCannotEncodeAsJson() {
+        OrderCreated hugePrice = new OrderCreated(1L,
+                List.of(new LineItemData(1L, 1, new BigDecimal("123456789012345678901234567890.00"))));
+        Map<String, Object> foreign = Map.of("orderId", 1);
+
+        Object serialized = binary.serialize(hugePrice);
+
+        assertEquals('{', serialized.toString().charAt(0));
+        assertEquals(hugePrice, binary.deserialize(serialized, OrderCreated.class));
+        assertEquals('{', binary.serialize(foreign).toString().charAt(0));
+    }
+
+    @Test
+    void isAFractionOfTheJsonSize() {
+        List<LineItemData> lineItems = new ArrayList<>();
+        for (long item = 1; item <= 10; item++) {
+            lineItems.add(new LineItemData(item, (int) item, new BigDecimal("12.50")));
+        }
+        OrderCreated event = new OrderCreated(480_763_289_457_115_136L, lineItems);
+
+        int binarySize = binary.serialize(event).toString().length();
+        int jsonSize = json.serialize(event).toString().length();
+
+        assertTrue(binarySize * 4 < jsonSize, binarySize + " vs " + jsonSize + " characters");
+    }
+
+    @Test
+    void rejectsUnknownVersionAndMismatchedType() {
+        String shipped = binary.serialize(new OrderShipped(1L)).toString();
+        byte[] bytes = Base64.getDecoder().decode(shipped.substring(1));
+        bytes[0] = BinaryEventSerializer.VERSION + 1;
+        String future = BinaryEventSerializer.BINARY_PREFIX
+                + Base64.getEncoder().withoutPadding().encodeToString(bytes);
+
+        assertThrows(IllegalStateException.class,
+                () -> binary.deserialize(future, OrderShipped.class));
+        assertThrows(IllegalStateException.class,
+                () -> binary.deserialize(shipped, OrderDelivered.class));
+    }
+}
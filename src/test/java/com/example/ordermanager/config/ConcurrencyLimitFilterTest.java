@@ -0,0 +1,121 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.api.ApiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+            new ConcurrencyLimitProperties(true, 1, 1, 1, 1.5, 0.2, Duration.ofMillis(100),
+                    Duration.ofSeconds(10), Duration.ofSeconds(2)));
+    private final ConcurrencyLimitFilter filter =
+            new ConcurrencyLimitFilter(limit, objectMapper, Duration.ofSeconds(2));
+
+    @Test
+    void rejectsOrderWritesAtTheLimitWithRetryAfter() throws Exception {
+        AdaptiveConcurrencyLimit.Permit busy = limit.tryAcquire();
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[] {
+                new MockHttpServletRequest("POST", "/orders"),
+                new MockHttpServletRequest("POST", "/orders/batch"),
+                new MockHttpServletRequest("PUT", "/orders/42/status")}) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(request, response, chain);
+
+            assertNull(chain.getRequest(), request.getRequestURI() + " reached the controller");
+            assertEquals(503, response.getStatus());
+            assertEquals("2", response.getHeader("Retry-After"));
+            JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+            assertEquals(503, body.get("code").asInt());
+        }
+        assertEquals(3, limit.getRejected());
+        busy.release(false);
+    }
+
+    @Test
+    void letsReadsAndOtherEndpointsThroughAtTheLimit() throws Exception {
+        AdaptiveConcurrencyLimit.Permit busy = limit.tryAcquire();
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[] {
+                new MockHttpServletRequest("GET", "/orders"),
+                new MockHttpServletRequest("GET", "/orders/42"),
+                new MockHttpServletRequest("GET", "/health"),
+                new MockHttpServletRequest("POST", "/customers"),
+                new MockHttpServletRequest("POST", "/orders-archive")}) {
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            assertNotNull(chain.getRequest(), request.getRequestURI() + " was rejected");
+        }
+        assertEquals(0, limit.getRejected());
+        busy.release(false);
+    }
+
+    @Test
+    void releasesThePermitOnceTheRequestCompletes() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/orders"),
+                new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void serverErrorReportedInTheBodyBacksTheLimitOff() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+                new ConcurrencyLimitProperties(true, 20, 4, 100, 1.5, 0.2, Duration.ofMillis(100),
+                        Duration.ofSeconds(10), Duration.ofSeconds(2)));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+                .setControllerAdvice(new ServerErrorResponseAdvice())
+                .addFilters(new ConcurrencyLimitFilter(limit, objectMapper, Duration.ofSeconds(2)))
+                .build();
+
+        mockMvc.perform(post("/orders")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(500));
+        assertEquals(18, limit.getLimit());
+
+        mockMvc.perform(post("/orders/batch")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+        assertEquals(18, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @RestController
+    static class FailingController {
+
+        // Fails the way the order controller does, with the error in the body of a 200
+        @PostMapping("/orders")
+        ApiResponse<Void> create() {
+            return ApiResponse.serverError("Failed to create order: database is down");
+        }
+
+        @PostMapping("/orders/batch")
+        ApiResponse<Void> createBatch() {
+            return ApiResponse.success(null);
+        }
+    }
+}
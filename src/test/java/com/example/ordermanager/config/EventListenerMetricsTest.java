@@ -0,0 +1,80 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.order.OrderEventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventListenerMetricsTest {
+
+    private static final String LISTENER = "OrderEventProcessor.onOrderStatusUpdated";
+
+    @Autowired
+    private OrderEventPublisher orderEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listenerInvocationsAreTimedPerListenerAndEventAndExposedThroughActuator()
+            throws Exception {
+        transactionTemplate.executeWithoutResult(status -> orderEventPublisher
+                .publishOrderStatusUpdated(7L, "PENDING", "SHIPPED"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> {
+            Timer execution = meterRegistry.find("events.listener.execution")
+                    .tags("listener", LISTENER, "event", "OrderStatusUpdated").timer();
+            return execution != null && execution.count() > 0;
+        });
+        assertEquals(1, meterRegistry.get("events.listener.wait")
+                .tags("listener", LISTENER, "event", "OrderStatusUpdated").timer().count());
+
+        mockMvc.perform(get("/actuator/metrics/events.listener.execution")
+                .param("tag", "listener:" + LISTENER))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[?(@.tag == 'event')].values[0]")
+                        .value("OrderStatusUpdated"));
+        for (String gauge : new String[] {"events.executor.active", "events.executor.queued",
+                "events.executor.queue.capacity", "events.executor.rejected"}) {
+            mockMvc.perform(get("/actuator/metrics/" + gauge)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void rejectedSubmissionsAreCountedAndLeaveTheQueue() {
+        InstrumentedExecutor executor = new InstrumentedExecutor(task -> {
+            throw new TaskRejectedException("Full");
+        }, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.bindTo(registry);
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+
+        assertEquals(1.0, registry.get("events.executor.rejected").functionCounter().count());
+        assertEquals(0.0, registry.get("events.executor.queued").gauge().value());
+    }
+}
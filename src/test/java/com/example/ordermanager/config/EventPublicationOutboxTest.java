@@ -0,0 +1,130 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.events.OrderShipped;
+import com.example.ordermanager.inventory.InventoryItem;
+import com.example.ordermanager.inventory.InventoryRepository;
+import com.example.ordermanager.order.OrderEventPublisher;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.modulith.events.CompletedEventPublications;
+import org.springframework.modulith.events.core.EventPublicationRegistry;
+import org.springframework.modulith.events.core.EventPublicationRepository;
+import org.springframework.modulith.events.core.PublicationTargetIdentifier;
+import org.springframework.modulith.events.core.TargetEventPublication;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {"order-manager.events.republish.interval=1h",
+        "order-manager.events.republish.older-than=0s", "order-manager.events.republish.batch-size=2",
+        "order-manager.events.purge.interval=1h",
+        "order-manager.events.purge.older-than=0s"})
+class EventPublicationOutboxTest {
+
+    @MockitoSpyBean
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private OrderEventPublisher orderEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EventPublicationRegistry registry;
+
+    @Autowired
+    private CompletedEventPublications completedPublications;
+
+    @Autowired
+    private EventPublicationConfig eventPublicationConfig;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventPublicationRepository publicationRepository;
+
+    @Test
+    void failedListenerIsRetriedFromRegistryAndCompletedPublicationsArePurged() {
+        InventoryItem item =
+                inventoryRepository.save(new InventoryItem("Outbox SKU", "Retried item", 10));
+        // The first delivery fails as if the application died while reserving stock; the
+        // second failure hits the order-by-order retry of the failed stock batch
+        AtomicInteger crashes = new AtomicInteger(2);
+        Answer<?> repository = mockingDetails(inventoryRepository).getMockCreationSettings()
+                .getDefaultAnswer();
+        doAnswer(invocation -> {
+            if (crashes.getAndDecrement() > 0) {
+                throw new IllegalStateException("Simulated crash");
+            }
+            return repository.answer(invocation);
+        }).when(inventoryRepository).decrementStock(anyLong(), anyInt());
+
+        transactionTemplate.executeWithoutResult(status -> orderEventPublisher.publishOrderCreated(
+                4242L, List.of(new LineItemData(item.getId(), 3, new BigDecimal("10.00")))));
+
+        verify(inventoryRepository, timeout(5_000).times(2)).decrementStock(item.getId(), 3);
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> registry.findIncompletePublications().size() == 1);
+        assertEquals(10, stockOf(item));
+        // The retry below reads the event back from its compact binary row
+        assertTrue(jdbcTemplate.queryForList(
+                "select serialized_event from event_publication where completion_date is null",
+                String.class).stream().allMatch(event -> event.charAt(0) == '#'));
+
+        eventPublicationConfig.resubmitIncompletePublications();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> stockOf(item) == 7);
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> registry.findIncompletePublications().isEmpty());
+
+        eventPublicationConfig.purgeCompletedPublications();
+        assertTrue(completedPublications.findAll().isEmpty());
+    }
+
+    @Test
+    void resubmissionReadsTheOldestBatchOnly() {
+        List<UUID> created = new ArrayList<>();
+        for (long orderId = 1; orderId <= 5; orderId++) {
+            created.add(publicationRepository.create(TargetEventPublication.of(
+                    new OrderShipped(orderId), PublicationTargetIdentifier.of("unknown-listener"),
+                    Instant.now().minusSeconds(60 - orderId))).getIdentifier());
+        }
+        try {
+            List<TargetEventPublication> page =
+                    publicationRepository.findIncompletePublicationsPublishedBefore(Instant.now());
+
+            assertEquals(created.subList(0, 2),
+                    page.stream().map(TargetEventPublication::getIdentifier).toList());
+            assertEquals(new OrderShipped(1L), page.get(0).getEvent());
+        } finally {
+            publicationRepository.deletePublications(created);
+        }
+    }
+
+    private int stockOf(InventoryItem item) {
+        return inventoryRepository.findById(item.getId()).orElseThrow().getStock();
+    }
+}
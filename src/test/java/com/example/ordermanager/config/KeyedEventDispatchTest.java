@@ -0,0 +1,167 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.events.EventListenerConcurrency;
+import com.example.ordermanager.events.OrderStatusUpdated;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringJUnitConfig({AsyncConfig.class, KeyedEventDispatchTest.RecordingListener.class})
+@TestPropertySource(properties = {"order-manager.async.mode=KEYED",
+        "order-manager.async.keyed.lanes=4", "order-manager.async.keyed.queue-capacity=1000"})
+class KeyedEventDispatchTest {
+
+    private static final int ORDERS = 20;
+    private static final int UPDATES_PER_ORDER = 40;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private EventListenerConcurrency listenerConcurrency;
+
+    @Test
+    void asyncListenerSeesEventsOfEachOrderInPublicationOrder() throws Exception {
+        for (int update = 0; update < UPDATES_PER_ORDER; update++) {
+            for (long orderId = 1; orderId <= ORDERS; orderId++) {
+                publisher.publishEvent(
+                        new OrderStatusUpdated(orderId, "S" + update, "S" + (update + 1)));
+            }
+        }
+
+        assertTrue(listener.done().await(30, TimeUnit.SECONDS), "Listener did not finish");
+
+        Set<String> allThreads = new HashSet<>();
+        for (long orderId = 1; orderId <= ORDERS; orderId++) {
+            List<String> expected = new ArrayList<>();
+            for (int update = 1; update <= UPDATES_PER_ORDER; update++) {
+                expected.add("S" + update);
+            }
+            assertEquals(expected, listener.statuses().get(orderId), "Order " + orderId);
+            Set<String> threads = listener.threads().get(orderId);
+            assertEquals(1, threads.size(), "Order " + orderId + " ran on " + threads);
+            allThreads.addAll(threads);
+        }
+        assertEquals(4, allThreads.size(), "Orders were not spread over all lanes");
+    }
+
+    @Test
+    void listenerThreadsAreTheLanes() {
+        assertEquals(4, listenerConcurrency.listenerThreads());
+    }
+
+    @Test
+    void unkeyedTasksAreSpreadOverAllLanes() throws Exception {
+        KeyedExecutor executor = new KeyedExecutor(3, 10, "test-lane-");
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(6);
+        try {
+            for (int i = 0; i < 6; i++) {
+                executor.execute(() -> {
+                    threads.add(Thread.currentThread().getName());
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(3, threads.size());
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void snowflakeOrderIdsAreSpreadEvenlyOverTheLanes() throws Exception {
+        KeyedExecutor executor = new KeyedExecutor(4, 10, "test-lane-");
+        try {
+            int[] orders = new int[4];
+            // One order per millisecond from node 0: every id has sequence 0 in its low bits
+            for (long millis = 0; millis < 4_000; millis++) {
+                orders[executor.laneFor(millis << 22)]++;
+            }
+            for (int lane = 0; lane < orders.length; lane++) {
+                assertTrue(orders[lane] > 800, "Lane " + lane + " got " + orders[lane] + " orders");
+            }
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void destroyDropsQueuedTasksAndInterruptsRunningOnes() throws Exception {
+        KeyedExecutor executor = new KeyedExecutor(1, 10, "test-lane-");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicInteger queuedRuns = new AtomicInteger();
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            executor.execute(queuedRuns::incrementAndGet);
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        executor.destroy();
+
+        assertTrue(interrupted.await(0, TimeUnit.SECONDS), "Running task was not interrupted");
+        assertEquals(0, queuedRuns.get());
+    }
+
+    static class RecordingListener {
+
+        private final Map<Long, List<String>> statuses = new ConcurrentHashMap<>();
+        private final Map<Long, Set<String>> threads = new ConcurrentHashMap<>();
+        private final CountDownLatch done = new CountDownLatch(ORDERS * UPDATES_PER_ORDER);
+
+        @Async("applicationEventExecutor")
+        @EventListener
+        void on(OrderStatusUpdated event) throws InterruptedException {
+            // Uneven handling times would reorder the events on a shared pool
+            Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+            statuses.computeIfAbsent(event.orderId(),
+                    id -> Collections.synchronizedList(new ArrayList<>())).add(event.newStatus());
+            threads.computeIfAbsent(event.orderId(), id -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+            done.countDown();
+        }
+
+        // Accessed through the async proxy, so fields must be read via methods
+        Map<Long, List<String>> statuses() {
+            return statuses;
+        }
+
+        Map<Long, Set<String>> threads() {
+            return threads;
+        }
+
+        CountDownLatch done() {
+            return done;
+        }
+    }
+}
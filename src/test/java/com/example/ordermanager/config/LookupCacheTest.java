@@ -0,0 +1,130 @@
+package com.example.ordermanager.config;
+
+import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.customer.CustomerManagement;
+import com.example.ordermanager.customer.CustomerRepository;
+import com.example.ordermanager.inventory.InventoryItem;
+import com.example.ordermanager.inventory.InventoryItemDetails;
+import com.example.ordermanager.inventory.InventoryManagement;
+import com.example.ordermanager.inventory.InventoryRepository;
+import com.example.ordermanager.inventory.StockReservation;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LookupCacheTest {
+
+    @Autowired
+    private CustomerManagement customerManagement;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InventoryManagement inventoryManagement;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void customerLookupsAreCachedUntilTheCustomerIsSavedAgain() throws Exception {
+        Customer customer = customerRepository.save(new Customer("Before", "before@example.com"));
+        double hits = gets(CustomerRepository.CACHE, "hit");
+
+        customerManagement.findById(customer.getId());
+        customerManagement.findById(customer.getId());
+        assertEquals(hits + 1, gets(CustomerRepository.CACHE, "hit"));
+
+        mockMvc.perform(post("/customers").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": " + customer.getId()
+                        + ", \"name\": \"After\", \"email\": \"after@example.com\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals("After", customerManagement.findById(customer.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void eachCustomerLookupGetsAnInstanceOfItsOwn() {
+        Customer customer = customerRepository.save(new Customer("Shared", "shared@example.com"));
+        Customer first = customerManagement.findById(customer.getId()).orElseThrow();
+
+        first.setId(-1L);
+
+        Customer second = customerManagement.findById(customer.getId()).orElseThrow();
+        assertNotSame(first, second);
+        assertEquals(customer.getId(), second.getId());
+        assertEquals("Shared", second.getName());
+    }
+
+    @Test
+    void cachedItemsCarryNoStockAndOutliveReservations() {
+        InventoryItem item = inventoryRepository.save(new InventoryItem("Widget", "A widget", 10));
+        InventoryItemDetails details = inventoryManagement.findById(item.getId()).orElseThrow();
+        double hits = gets(InventoryRepository.CACHE, "hit");
+
+        assertEquals(StockReservation.RESERVED, inventoryManagement.reserveStock(item.getId(), 3));
+
+        assertEquals(details, inventoryManagement.findById(item.getId()).orElseThrow());
+        assertEquals(hits + 1, gets(InventoryRepository.CACHE, "hit"));
+        assertEquals(7, inventoryRepository.findById(item.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void bulkLookupsOnlyQueryItemsMissingFromTheCache() {
+        InventoryItem cached = inventoryRepository.save(new InventoryItem("Cached", "Cached", 1));
+        InventoryItem missing = inventoryRepository.save(new InventoryItem("Missing", "Missing", 1));
+        inventoryManagement.findById(cached.getId());
+        double hits = gets(InventoryRepository.CACHE, "hit");
+        double misses = gets(InventoryRepository.CACHE, "miss");
+
+        Map<Long, InventoryItemDetails> items =
+                inventoryManagement.findAllById(List.of(cached.getId(), missing.getId(), -1L));
+
+        assertEquals(2, items.size());
+        assertEquals(hits + 1, gets(InventoryRepository.CACHE, "hit"));
+        assertEquals(misses + 2, gets(InventoryRepository.CACHE, "miss"));
+        inventoryManagement.findById(missing.getId());
+        assertEquals(hits + 2, gets(InventoryRepository.CACHE, "hit"));
+    }
+
+    @Test
+    void cacheStatisticsAreExposedThroughActuator() throws Exception {
+        mockMvc.perform(get("/actuator/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cacheManagers.cacheManager.caches.customers").exists())
+                .andExpect(jsonPath("$.cacheManagers.cacheManager.caches['inventory-items']")
+                        .exists());
+        for (String metric : new String[] {"cache.gets", "cache.evictions", "cache.size"}) {
+            mockMvc.perform(get("/actuator/metrics/" + metric)
+                    .param("tag", "cache:" + InventoryRepository.CACHE))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tags("cache", cache, "result", result)
+                .functionCounter().count();
+    }
+}
@@ -1,14 +1,18 @@
 package com.example.ordermanager.customer;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -38,14 +42,62 @@ class CustomerControllerTest {
     customer2.setId(2L);
     List<Customer> allCustomers = Arrays.asList(customer1, customer2);
 
-    when(customerRepository.findAll()).thenReturn(allCustomers);
+    when(customerRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(51)))
+        .thenReturn(allCustomers);
 
     mockMvc
         .perform(get("/customers"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.data[0].id").value(1L))
-        .andExpect(jsonPath("$.data[0].name").value("John Doe"))
-        .andExpect(jsonPath("$.data[1].id").value(2L))
-        .andExpect(jsonPath("$.data[1].name").value("Jane Smith"));
+        .andExpect(jsonPath("$.data.items[0].id").value(1L))
+        .andExpect(jsonPath("$.data.items[0].name").value("John Doe"))
+        .andExpect(jsonPath("$.data.items[1].id").value(2L))
+        .andExpect(jsonPath("$.data.items[1].name").value("Jane Smith"))
+        .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+  }
+
+  @Test
+  void getAllCustomersShouldReturnCursorThatContinuesAfterLastItem() throws Exception {
+    Customer customer1 = new Customer("John Doe", "john.doe@example.com");
+    customer1.setId(1L);
+    Customer customer2 = new Customer("Jane Smith", "jane.smith@example.com");
+    customer2.setId(2L);
+    Customer customer3 = new Customer("Max Mustermann", "max@example.com");
+    customer3.setId(3L);
+
+    when(customerRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(3)))
+        .thenReturn(List.of(customer1, customer2, customer3));
+
+    String nextCursor = JsonPath.read(mockMvc
+        .perform(get("/customers").param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.items.length()").value(2))
+        .andExpect(jsonPath("$.data.items[1].id").value(2L))
+        .andReturn().getResponse().getContentAsString(), "$.data.nextCursor");
+
+    when(customerRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), eq(Limit.of(3))))
+        .thenReturn(List.of(customer3));
+
+    mockMvc
+        .perform(get("/customers").param("after", nextCursor).param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.items[0].id").value(3L))
+        .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+  }
+
+  @Test
+  void getAllCustomersShouldRejectInvalidCursorAndLimit() throws Exception {
+    mockMvc
+        .perform(get("/customers").param("after", "not a cursor"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.success").value(false))
+        .andExpect(jsonPath("$.code").value(400));
+
+    mockMvc
+        .perform(get("/customers").param("limit", "0"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.success").value(false))
+        .andExpect(jsonPath("$.code").value(400));
+
+    verifyNoInteractions(customerRepository);
   }
 }
@@ -0,0 +1,136 @@
+package com.example.ordermanager.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnowflakeIdGeneratorTest {
+
+  private static final int THREADS = 8;
+  private static final int IDS_PER_THREAD = 50_000;
+
+  private final AtomicLong now =
+      new AtomicLong(Instant.parse("2025-06-01T00:00:00Z").toEpochMilli());
+  private final InstantSource clock = () -> Instant.ofEpochMilli(now.get());
+
+  @Test
+  void packsTimestampNodeAndSequence() {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(513, Duration.ofSeconds(1), clock);
+
+    long first = generator.nextId();
+    long second = generator.nextId();
+
+    assertEquals(Instant.ofEpochMilli(now.get()), SnowflakeIdGenerator.timestampOf(first));
+    assertEquals(513, SnowflakeIdGenerator.nodeOf(first));
+    assertEquals(0, SnowflakeIdGenerator.sequenceOf(first));
+    assertEquals(1, SnowflakeIdGenerator.sequenceOf(second));
+    assertTrue(first > 0);
+
+    now.incrementAndGet();
+    long third = generator.nextId();
+    assertEquals(0, SnowflakeIdGenerator.sequenceOf(third));
+    assertEquals(Instant.ofEpochMilli(now.get()), SnowflakeIdGenerator.timestampOf(third));
+  }
+
+  @Test
+  void waitsForTheNextMillisecondWhenTheSequenceIsUsedUp() {
+    // The clock only moves once the generator has asked for it a few more times
+    AtomicLong reads = new AtomicLong();
+    long start = now.get();
+    InstantSource slowClock = () -> Instant.ofEpochMilli(
+        reads.incrementAndGet() <= (1 << SnowflakeIdGenerator.SEQUENCE_BITS) + 100 ? start
+            : start + 1);
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Duration.ZERO, slowClock);
+
+    long previous = 0;
+    for (int i = 0; i < 1 << SnowflakeIdGenerator.SEQUENCE_BITS; i++) {
+      long id = generator.nextId();
+      assertTrue(id > previous);
+      previous = id;
+    }
+    long next = generator.nextId();
+
+    assertEquals(Instant.ofEpochMilli(start + 1), SnowflakeIdGenerator.timestampOf(next));
+    assertEquals(0, SnowflakeIdGenerator.sequenceOf(next));
+  }
+
+  @Test
+  void keepsIncreasingWhenTheClockGoesBackWithinTheTolerance() {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Duration.ofSeconds(1), clock);
+    long before = generator.nextId();
+
+    now.addAndGet(-500);
+    long after = generator.nextId();
+
+    assertTrue(after > before);
+    assertEquals(SnowflakeIdGenerator.timestampOf(before), SnowflakeIdGenerator.timestampOf(after));
+  }
+
+  @Test
+  void failsWhenTheClockGoesBackFurtherThanTheTolerance() {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Duration.ofSeconds(1), clock);
+    generator.nextId();
+
+    now.addAndGet(-1_500);
+    ClockSkewException e = assertThrows(ClockSkewException.class, generator::nextId);
+    assertEquals(1_500, e.getSkewMillis());
+
+    now.addAndGet(1_500);
+    generator.nextId();
+  }
+
+  @Test
+  void rejectsNodesOutsideTheRange() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new SnowflakeIdGenerator(-1, Duration.ZERO, clock));
+    assertThrows(IllegalArgumentException.class,
+        () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE + 1, Duration.ZERO, clock));
+  }
+
+  @Test
+  void concurrentCallersGetUniqueIncreasingIds() throws Exception {
+    SnowflakeIdGenerator generator =
+        new SnowflakeIdGenerator(3, Duration.ofSeconds(1), InstantSource.system());
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<long[]>> callers = new ArrayList<>();
+    for (int thread = 0; thread < THREADS; thread++) {
+      callers.add(executor.submit(() -> {
+        start.await();
+        long[] ids = new long[IDS_PER_THREAD];
+        for (int i = 0; i < ids.length; i++) {
+          ids[i] = generator.nextId();
+        }
+        return ids;
+      }));
+    }
+    start.countDown();
+
+    Set<Long> unique = new HashSet<>();
+    for (Future<long[]> caller : callers) {
+      long[] ids = caller.get(30, TimeUnit.SECONDS);
+      for (int i = 0; i < ids.length; i++) {
+        assertTrue(i == 0 || ids[i] > ids[i - 1], "Ids of one caller must increase");
+        unique.add(ids[i]);
+      }
+    }
+    executor.shutdown();
+    assertEquals(THREADS * IDS_PER_THREAD, unique.size());
+  }
+}
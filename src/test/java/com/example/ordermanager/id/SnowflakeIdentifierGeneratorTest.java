@@ -0,0 +1,46 @@
+package com.example.ordermanager.id;
+
+import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.customer.CustomerRepository;
+import com.example.ordermanager.order.Order;
+import com.example.ordermanager.order.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "order-manager.id.node=7")
+class SnowflakeIdentifierGeneratorTest {
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private CustomerRepository customerRepository;
+
+  @Test
+  void ordersAndLineItemsGetIdsFromTheConfiguredNode() {
+    Customer customer = customerRepository.save(new Customer("Snowflake", "snow@example.com"));
+    Order first = new Order(customer);
+    first.addLineItem(1L, 1, new BigDecimal("10.00"));
+    first.addLineItem(2L, 2, new BigDecimal("5.00"));
+    Order second = new Order(customer);
+    second.addLineItem(1L, 1, new BigDecimal("10.00"));
+
+    first = orderRepository.save(first);
+    second = orderRepository.save(second);
+
+    assertEquals(7, SnowflakeIdGenerator.nodeOf(first.getId()));
+    assertTrue(second.getId() > first.getId());
+    Duration age = Duration.between(SnowflakeIdGenerator.timestampOf(first.getId()), Instant.now());
+    assertTrue(!age.isNegative() && age.compareTo(Duration.ofMinutes(1)) < 0, age.toString());
+    first.getLineItems().forEach(
+        lineItem -> assertEquals(7, SnowflakeIdGenerator.nodeOf(lineItem.getId())));
+  }
+}
@@ -3,6 +3,7 @@ package com.example.ordermanager.inventory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -38,14 +39,15 @@ class InventoryControllerTest {
     item2.setId(2L);
     List<InventoryItem> allItems = Arrays.asList(item1, item2);
 
-    when(inventoryRepository.findAll()).thenReturn(allItems);
+    when(inventoryRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(51)))
+        .thenReturn(allItems);
 
     mockMvc
         .perform(get("/inventory"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.data[0].id").value(1L))
-        .andExpect(jsonPath("$.data[0].name").value("Laptop"))
-        .andExpect(jsonPath("$.data[1].id").value(2L))
-        .andExpect(jsonPath("$.data[1].name").value("Mouse"));
+        .andExpect(jsonPath("$.data.items[0].id").value(1L))
+        .andExpect(jsonPath("$.data.items[0].name").value("Laptop"))
+        .andExpect(jsonPath("$.data.items[1].id").value(2L))
+        .andExpect(jsonPath("$.data.items[1].name").value("Mouse"));
   }
 }
@@ -0,0 +1,94 @@
+package com.example.ordermanager.inventory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class InventoryReservationConcurrencyTest {
+
+  private static final int THREADS = 16;
+  private static final int RESERVATIONS_PER_THREAD = 100;
+
+  @Autowired
+  private InventoryManagement inventoryManagement;
+
+  @Autowired
+  private InventoryRepository inventoryRepository;
+
+  @Test
+  void parallelReservationsOnHotItemLoseNoUpdates() throws Exception {
+    InventoryItem item =
+        inventoryRepository.save(new InventoryItem("Hot SKU", "Contended item", 5_000));
+
+    List<StockReservation> results = reserveInParallel(item.getId(), 2);
+
+    assertEquals(THREADS * RESERVATIONS_PER_THREAD, count(results, StockReservation.RESERVED));
+    assertEquals(5_000 - 2 * THREADS * RESERVATIONS_PER_THREAD, stockOf(item));
+  }
+
+  @Test
+  void oversubscribedHotItemNeverGoesNegative() throws Exception {
+    InventoryItem item =
+        inventoryRepository.save(new InventoryItem("Hot SKU", "Contended item", 500));
+
+    List<StockReservation> results = reserveInParallel(item.getId(), 1);
+
+    assertEquals(500, count(results, StockReservation.RESERVED));
+    assertEquals(THREADS * RESERVATIONS_PER_THREAD - 500,
+        count(results, StockReservation.INSUFFICIENT_STOCK));
+    assertEquals(0, stockOf(item));
+  }
+
+  @Test
+  void reservingUnknownItemReportsItemNotFound() {
+    assertEquals(StockReservation.ITEM_NOT_FOUND, inventoryManagement.reserveStock(-1L, 1));
+  }
+
+  private List<StockReservation> reserveInParallel(Long id, int quantity) throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<List<StockReservation>>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        Callable<List<StockReservation>> task = () -> {
+          start.await();
+          List<StockReservation> outcomes = new ArrayList<>();
+          for (int i = 0; i < RESERVATIONS_PER_THREAD; i++) {
+            outcomes.add(inventoryManagement.reserveStock(id, quantity));
+          }
+          return outcomes;
+        };
+        futures.add(pool.submit(task));
+      }
+      start.countDown();
+
+      List<StockReservation> results = new ArrayList<>();
+      for (Future<List<StockReservation>> future : futures) {
+        results.addAll(future.get(60, TimeUnit.SECONDS));
+      }
+      return results;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private long count(List<StockReservation> results, StockReservation outcome) {
+    return results.stream().filter(outcome::equals).count();
+  }
+
+  private int stockOf(InventoryItem item) {
+    return inventoryRepository.findById(item.getId()).orElseThrow().getStock();
+  }
+}
@@ -0,0 +1,152 @@
+package com.example.ordermanager.inventory.internal;
+
+import com.example.ordermanager.inventory.InventoryItem;
+import com.example.ordermanager.inventory.InventoryManagement;
+import com.example.ordermanager.inventory.InventoryRepository;
+import com.example.ordermanager.inventory.StockReservation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"order-manager.inventory.batching.enabled=true",
+    "order-manager.async.keyed.lanes=32", "order-manager.inventory.batching.max-size=8",
+    "order-manager.inventory.batching.max-wait=50ms"})
+class StockBatcherTest {
+
+  private static final int ORDERS = 32;
+
+  @Autowired
+  private StockBatcher stockBatcher;
+
+  @Autowired
+  private InventoryRepository inventoryRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private InventoryManagement inventoryManagement;
+
+  @Autowired
+  private ReservedOrderRepository reservedOrders;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void concurrentOrdersForHotItemAreAppliedInFewBatchesWithoutOverselling() throws Exception {
+    InventoryItem item =
+        inventoryRepository.save(new InventoryItem("Hot SKU", "Batched item", 20));
+    DistributionSummary batchSizes =
+        meterRegistry.get("inventory.stock.batch.size").summary();
+    long batchesBefore = batchSizes.count();
+
+    ExecutorService executor = Executors.newFixedThreadPool(ORDERS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<StockReservation>> results = new ArrayList<>();
+    try {
+      for (long orderId = 1; orderId <= ORDERS; orderId++) {
+        long id = orderIdFor(item, orderId);
+        results.add(executor.submit(() -> {
+          start.await();
+          return stockBatcher.reserve(id, Map.of(item.getId(), 1)).join().get(item.getId());
+        }));
+      }
+      start.countDown();
+      int reserved = 0;
+      for (Future<StockReservation> result : results) {
+        if (result.get(30, TimeUnit.SECONDS) == StockReservation.RESERVED) {
+          reserved++;
+        }
+      }
+
+      assertEquals(20, reserved);
+      assertEquals(0, inventoryRepository.findById(item.getId()).orElseThrow().getStock());
+      long batches = batchSizes.count() - batchesBefore;
+      assertTrue(batches <= ORDERS / 2, ORDERS + " orders took " + batches + " batches");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void outcomesAreReportedPerOrder() {
+    InventoryItem item = inventoryRepository.save(new InventoryItem("SKU", "Batched item", 5));
+
+    CompletableFuture<Map<Long, StockReservation>> first =
+        stockBatcher.reserve(orderIdFor(item, 1), Map.of(item.getId(), 3));
+    CompletableFuture<Map<Long, StockReservation>> unknown =
+        stockBatcher.reserve(orderIdFor(item, 2), Map.of(-1L, 1));
+    CompletableFuture<Map<Long, StockReservation>> second =
+        stockBatcher.reserve(orderIdFor(item, 3), Map.of(item.getId(), 3));
+
+    assertEquals(Map.of(item.getId(), StockReservation.RESERVED), first.join());
+    assertEquals(Map.of(-1L, StockReservation.ITEM_NOT_FOUND), unknown.join());
+    assertEquals(Map.of(item.getId(), StockReservation.INSUFFICIENT_STOCK), second.join());
+    assertEquals(2, inventoryRepository.findById(item.getId()).orElseThrow().getStock());
+  }
+
+  @Test
+  void redeliveredOrderIsReservedOnce() {
+    InventoryItem item = inventoryRepository.save(new InventoryItem("SKU", "Batched item", 10));
+    Long orderId = orderIdFor(item, 1);
+
+    // Twice in one batch, then again in a later one
+    CompletableFuture<Map<Long, StockReservation>> first =
+        stockBatcher.reserve(orderId, Map.of(item.getId(), 3));
+    CompletableFuture<Map<Long, StockReservation>> duplicate =
+        stockBatcher.reserve(orderId, Map.of(item.getId(), 3));
+    assertEquals(Map.of(item.getId(), StockReservation.RESERVED), first.join());
+    assertEquals(Map.of(), duplicate.join());
+    assertEquals(Map.of(), stockBatcher.reserve(orderId, Map.of(item.getId(), 3)).join());
+
+    assertEquals(7, inventoryRepository.findById(item.getId()).orElseThrow().getStock());
+  }
+
+  @Test
+  void batchIsAppliedOnceEveryListenerHasAnOrderInIt() throws Exception {
+    InventoryItem item = inventoryRepository.save(new InventoryItem("SKU", "Batched item", 10));
+    // Four listeners and a batch that would otherwise wait a minute
+    StockBatcher batcher = new StockBatcher(inventoryRepository, inventoryManagement,
+        reservedOrders, transactionManager,
+        new StockBatchingProperties(true, 64, Duration.ofMinutes(1)), () -> 4,
+        new SimpleMeterRegistry());
+    try {
+      List<CompletableFuture<Map<Long, StockReservation>>> results = new ArrayList<>();
+      for (long order = 1; order <= 4; order++) {
+        results.add(batcher.reserve(orderIdFor(item, order), Map.of(item.getId(), 1)));
+      }
+
+      for (CompletableFuture<Map<Long, StockReservation>> result : results) {
+        assertEquals(StockReservation.RESERVED,
+            result.get(10, TimeUnit.SECONDS).get(item.getId()));
+      }
+      assertEquals(6, inventoryRepository.findById(item.getId()).orElseThrow().getStock());
+    } finally {
+      batcher.destroy();
+    }
+  }
+
+  // The reservations of an order are remembered, so every test needs order ids of its own
+  private static long orderIdFor(InventoryItem item, long order) {
+    return item.getId() * 1_000 + order;
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.ordermanager.journal.internal;
+
+import com.example.ordermanager.events.OrderShipped;
+import com.example.ordermanager.journal.EventJournal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JournalingListenerTest {
+
+  private final EventJournal journal = mock(EventJournal.class);
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final JournalingListener listener = new JournalingListener(journal, meterRegistry);
+
+  @Test
+  void appendsEventOnceTheTransactionHasCommitted() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      listener.on(new OrderShipped(1L));
+      verify(journal, never()).append(new OrderShipped(1L));
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    verify(journal).append(new OrderShipped(1L));
+  }
+
+  @Test
+  void neverAppendsEventOfRolledBackTransaction() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      listener.on(new OrderShipped(1L));
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+          synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    verify(journal, never()).append(new OrderShipped(1L));
+  }
+
+  @Test
+  void appendsRightAwayOutsideTransactions() {
+    listener.on(new OrderShipped(1L));
+
+    verify(journal).append(new OrderShipped(1L));
+  }
+
+  @Test
+  void countsAppendsThatFail() {
+    when(journal.append(new OrderShipped(1L)))
+        .thenThrow(new IllegalStateException("Journal is closed"));
+
+    listener.on(new OrderShipped(1L));
+    listener.on(new OrderShipped(2L));
+
+    assertEquals(1, meterRegistry.get("journal.append.failures").counter().count());
+  }
+}
@@ -0,0 +1,263 @@
+package com.example.ordermanager.journal.internal;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.events.OrderCancelled;
+import com.example.ordermanager.events.OrderCreated;
+import com.example.ordermanager.events.OrderDelivered;
+import com.example.ordermanager.events.OrderEvent;
+import com.example.ordermanager.events.OrderShipped;
+import com.example.ordermanager.events.OrderStatusUpdated;
+import com.example.ordermanager.journal.JournalReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedEventJournalTest {
+
+  private static final List<OrderEvent> EVENTS = List.of(
+      new OrderCreated(1L, List.of(new LineItemData(10L, 2, new BigDecimal("19.99")),
+          new LineItemData(11L, 1, new BigDecimal("5")))),
+      new OrderStatusUpdated(1L, "PENDING", "SHIPPED"),
+      new OrderShipped(1L),
+      new OrderDelivered(1L),
+      new OrderCancelled(2L, "Kunde hat storniert – zu spät"));
+
+  @TempDir
+  private Path directory;
+
+  private final List<MappedEventJournal> journals = new ArrayList<>();
+
+  @AfterEach
+  void closeJournals() throws Exception {
+    for (MappedEventJournal journal : journals) {
+      journal.destroy();
+    }
+  }
+
+  @Test
+  void readsBackEveryEventTypeInAppendOrder() {
+    MappedEventJournal journal = open(DataSize.ofMegabytes(1), DataSize.ofGigabytes(1));
+    List<Long> offsets = EVENTS.stream().map(journal::append).toList();
+
+    assertEquals(0, offsets.get(0));
+    assertEquals(EVENTS, readAll(journal, 0));
+    assertEquals(EVENTS.subList(2, EVENTS.size()), readAll(journal, offsets.get(2)));
+    try (JournalReader reader = journal.read(offsets.get(1))) {
+      assertTrue(reader.next());
+      assertEquals(offsets.get(1), reader.offset());
+      assertTrue(reader.payload().isReadOnly());
+      assertTrue(reader.timestamp() > 0);
+    }
+  }
+
+  @Test
+  void rollsToNewSegmentsWithContiguousOffsets() throws IOException {
+    MappedEventJournal journal = open(DataSize.ofBytes(256), DataSize.ofGigabytes(1));
+    List<Long> offsets = new ArrayList<>();
+    for (long orderId = 0; orderId < 100; orderId++) {
+      offsets.add(journal.append(new OrderShipped(orderId)));
+    }
+
+    assertEquals(10, segmentFiles().size());
+    try (JournalReader reader = journal.read(0)) {
+      for (int i = 0; i < 100; i++) {
+        assertTrue(reader.next());
+        assertEquals(offsets.get(i), reader.offset());
+        assertEquals(new OrderShipped((long) i), reader.event());
+      }
+      assertFalse(reader.next());
+    }
+  }
+
+  @Test
+  void continuesAfterRestart() throws Exception {
+    MappedEventJournal journal = open(DataSize.ofBytes(256), DataSize.ofGigabytes(1));
+    for (long orderId = 0; orderId < 20; orderId++) {
+      journal.append(new OrderShipped(orderId));
+    }
+    long end = journal.endOffset();
+    close(journal);
+
+    MappedEventJournal reopened = open(DataSize.ofBytes(256), DataSize.ofGigabytes(1));
+    assertEquals(end, reopened.endOffset());
+    assertEquals(end, reopened.append(new OrderShipped(20L)));
+    List<OrderEvent> events = readAll(reopened, 0);
+    assertEquals(21, events.size());
+    assertEquals(new OrderShipped(20L), events.get(20));
+  }
+
+  @Test
+  void dropsTornRecordAtTheEndOnRecovery() throws Exception {
+    MappedEventJournal journal = open(DataSize.ofMegabytes(1), DataSize.ofGigabytes(1));
+    journal.append(new OrderShipped(1L));
+    long torn = journal.append(new OrderShipped(2L));
+    close(journal);
+    // Corrupt the last record's payload, as if its pages never made it to disk in full
+    Path segment = segmentFiles().get(0);
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), torn + EventCodec.HEADER_SIZE + 12);
+    }
+
+    MappedEventJournal recovered = open(DataSize.ofMegabytes(1), DataSize.ofGigabytes(1));
+    assertEquals(torn, recovered.endOffset());
+    recovered.append(new OrderDelivered(3L));
+
+    assertEquals(List.of(new OrderShipped(1L), new OrderDelivered(3L)), readAll(recovered, 0));
+  }
+
+  @Test
+  void deletesOldestSegmentsBeyondRetention() throws IOException {
+    MappedEventJournal journal = open(DataSize.ofBytes(256), DataSize.ofBytes(1024));
+    for (long orderId = 0; orderId < 100; orderId++) {
+      journal.append(new OrderShipped(orderId));
+    }
+
+    assertEquals(4, segmentFiles().size());
+    List<OrderEvent> retained = readAll(journal, 0);
+    assertFalse(retained.isEmpty());
+    assertEquals(new OrderShipped(99L), retained.get(retained.size() - 1));
+    assertTrue(retained.size() < 100);
+  }
+
+  @Test
+  void deletesSegmentsOlderThanMaxAge() throws IOException {
+    MappedEventJournal journal = open(DataSize.ofBytes(256), DataSize.ofGigabytes(1));
+    for (long orderId = 0; orderId < 20; orderId++) {
+      journal.append(new OrderShipped(orderId));
+    }
+    List<Path> before = segmentFiles();
+    List<Path> sealed = before.subList(0, before.size() - 1);
+    for (Path segment : sealed) {
+      Files.setLastModifiedTime(segment, FileTime.from(Instant.now().minus(Duration.ofDays(8))));
+    }
+    while (segmentFiles().contains(sealed.get(0))) {
+      journal.append(new OrderShipped(0L));
+    }
+
+    // The next roll deletes every expired segment, the one that was active is still young
+    assertTrue(sealed.stream().noneMatch(Files::exists));
+    try (JournalReader reader = journal.read(0)) {
+      assertTrue(reader.next());
+      assertEquals(Segment.baseOffsetOf(before.get(before.size() - 1)), reader.offset());
+    }
+  }
+
+  @Test
+  void awaitDurableReturnsOnceTheRecordIsFlushed() throws Exception {
+    MappedEventJournal journal = open(DataSize.ofMegabytes(1), DataSize.ofGigabytes(1));
+    long offset = journal.append(new OrderShipped(1L));
+
+    journal.awaitDurable(offset);
+
+    assertThrows(IllegalArgumentException.class, () -> journal.awaitDurable(journal.endOffset()));
+  }
+
+  @Test
+  void concurrentAppendsGetDistinctOffsetsAndAreAllReadBack() throws Exception {
+    MappedEventJournal journal = open(DataSize.ofKilobytes(64), DataSize.ofGigabytes(1));
+    int threads = 8;
+    int perThread = 5_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      long first = (long) t * perThread;
+      futures.add(executor.submit(() -> {
+        for (long orderId = first; orderId < first + perThread; orderId++) {
+          journal.append(new OrderShipped(orderId));
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    Set<Long> orderIds = new HashSet<>();
+    readAll(journal, 0).forEach(event -> orderIds.add(event.orderId()));
+    assertEquals(threads * perThread, orderIds.size());
+  }
+
+  @Test
+  void readerPicksUpRecordsAppendedAfterItReachedTheEnd() {
+    MappedEventJournal journal = open(DataSize.ofBytes(256), DataSize.ofGigabytes(1));
+    try (JournalReader reader = journal.read(journal.endOffset())) {
+      assertFalse(reader.next());
+      for (long orderId = 0; orderId < 30; orderId++) {
+        journal.append(new OrderShipped(orderId));
+        assertTrue(reader.next());
+        assertEquals(new OrderShipped(orderId), reader.event());
+        assertFalse(reader.next());
+      }
+    }
+  }
+
+  @Test
+  void rejectsReadsPastTheEnd() {
+    MappedEventJournal journal = open(DataSize.ofMegabytes(1), DataSize.ofGigabytes(1));
+    journal.append(new OrderShipped(1L));
+
+    assertThrows(IllegalArgumentException.class, () -> journal.read(journal.endOffset() + 1));
+  }
+
+  @Test
+  void refusesDirectoryInUseByAnotherJournal() {
+    open(DataSize.ofMegabytes(1), DataSize.ofGigabytes(1));
+
+    assertThrows(IllegalStateException.class,
+        () -> open(DataSize.ofMegabytes(1), DataSize.ofGigabytes(1)));
+  }
+
+  private MappedEventJournal open(DataSize segmentSize, DataSize maxSize) {
+    MappedEventJournal journal = new MappedEventJournal(new JournalProperties(directory,
+        segmentSize, Duration.ofMillis(10),
+        new JournalProperties.Retention(Duration.ofDays(7), maxSize)));
+    journals.add(journal);
+    return journal;
+  }
+
+  private void close(MappedEventJournal journal) throws Exception {
+    journal.destroy();
+    journals.remove(journal);
+  }
+
+  private static List<OrderEvent> readAll(MappedEventJournal journal, long offset) {
+    List<OrderEvent> events = new ArrayList<>();
+    try (JournalReader reader = journal.read(offset)) {
+      while (reader.next()) {
+        events.add(reader.event());
+      }
+    }
+    return events;
+  }
+
+  private List<Path> segmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(Segment::isSegment).sorted().toList();
+    }
+  }
+}
@@ -2,25 +2,35 @@ package com.example.ordermanager.order;
 
 import com.example.ordermanager.customer.Customer;
 import com.example.ordermanager.customer.CustomerManagement;
-import com.example.ordermanager.inventory.InventoryItem;
+import com.example.ordermanager.inventory.InventoryItemDetails;
 import com.example.ordermanager.inventory.InventoryManagement;
+import com.example.ordermanager.pricing.PriceCatalog;
+import com.example.ordermanager.pricing.PriceSnapshot;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,6 +49,9 @@ class OrderControllerTest {
         @MockitoBean
         private OrderRepository orderRepository;
 
+        @MockitoBean
+        private OrderSummaryRepository orderSummaryRepository;
+
         @MockitoBean
         private CustomerManagement customerManagement;
 
@@ -48,30 +61,68 @@ class OrderControllerTest {
         @MockitoBean
         private OrderEventPublisher orderEventPublisher; // Mock the new event publisher
 
+        @MockitoBean
+        private OrderExporter orderExporter;
+
+        @MockitoBean
+        private OrderMetrics orderMetrics;
+
+        @MockitoBean
+        private PlatformTransactionManager transactionManager;
+
+        @MockitoBean
+        private PriceCatalog priceCatalog;
+
+        @BeforeEach
+        void defaultPrices() {
+                when(priceCatalog.current())
+                                .thenReturn(new PriceSnapshot(1, new BigDecimal("10.00"), Map.of()));
+        }
+
         @Test
         void getAllOrdersShouldReturnOrders() throws Exception {
-                Customer customer = new Customer("Test Customer", "test@example.com");
-                customer.setId(1L);
+                LocalDateTime orderDate = LocalDateTime.of(2024, 1, 1, 12, 0);
 
-                Order order1 = new Order(customer);
-                order1.setId(10L);
-                order1.setStatus("PENDING");
-                order1.addLineItem(1L, 2, new BigDecimal("10.00"));
+                OrderSummary order1 = new OrderSummary(10L, 1L, "Test Customer", OrderStatus.PENDING,
+                                2000, 2, orderDate, orderDate);
 
-                Order order2 = new Order(customer);
-                order2.setId(11L);
-                order2.setStatus("COMPLETED");
-                order2.addLineItem(2L, 1, new BigDecimal("25.00"));
+                OrderSummary order2 = new OrderSummary(11L, 1L, "Test Customer", OrderStatus.DELIVERED,
+                                2500, 1, orderDate, orderDate.plusDays(2));
 
-                List<Order> allOrders = Arrays.asList(order1, order2);
+                List<OrderSummary> allOrders = Arrays.asList(order1, order2);
 
-                when(orderRepository.findAll()).thenReturn(allOrders);
+                when(orderSummaryRepository.findPage(Long.MIN_VALUE, Limit.of(51)))
+                                .thenReturn(allOrders);
 
                 mockMvc.perform(get("/orders")).andExpect(status().isOk())
-                                .andExpect(jsonPath("$.data[0].id").value(10L))
-                                .andExpect(jsonPath("$.data[0].status").value("PENDING"))
-                                .andExpect(jsonPath("$.data[1].id").value(11L))
-                                .andExpect(jsonPath("$.data[1].status").value("COMPLETED"));
+                                .andExpect(jsonPath("$.data.items[0].id").value("10"))
+                                .andExpect(jsonPath("$.data.items[0].status").value("PENDING"))
+                                .andExpect(jsonPath("$.data.items[0].customerName")
+                                                .value("Test Customer"))
+                                .andExpect(jsonPath("$.data.items[0].totalAmount").value(20.00))
+                                .andExpect(jsonPath("$.data.items[0].itemCount").value(2))
+                                .andExpect(jsonPath("$.data.items[1].id").value("11"))
+                                .andExpect(jsonPath("$.data.items[1].status").value("DELIVERED"));
+
+                verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        void orderIdsAreWrittenAsStrings() throws Exception {
+                Customer customer = new Customer("Test Customer", "test@example.com");
+                customer.setId(1L);
+
+                // Above 2^53, where a JSON number loses precision in JavaScript
+                long id = 123_456_789_012_345_678L;
+                Order order = new Order(customer);
+                order.setId(id);
+                order.addLineItem(1L, 2, new BigDecimal("10.00"));
+
+                when(orderRepository.findById(id)).thenReturn(Optional.of(order));
+
+                mockMvc.perform(get("/orders/{id}", id)).andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.id").value("123456789012345678"))
+                                .andExpect(jsonPath("$.data.customer.id").value(1));
         }
 
         @Test
@@ -81,13 +132,12 @@ class OrderControllerTest {
 
                 Order order = new Order(customer);
                 order.setId(10L);
-                order.setStatus("PENDING");
                 order.addLineItem(1L, 2, new BigDecimal("10.00"));
 
                 when(orderRepository.findById(10L)).thenReturn(Optional.of(order));
 
                 mockMvc.perform(get("/orders/{id}", 10L)).andExpect(status().isOk())
-                                .andExpect(jsonPath("$.data.id").value(10L))
+                                .andExpect(jsonPath("$.data.id").value("10"))
                                 .andExpect(jsonPath("$.data.status").value("PENDING"));
         }
 
@@ -122,7 +172,7 @@ class OrderControllerTest {
                                 new OrderRequest(1L, Collections.singletonList(lineItemRequest));
 
                 when(customerManagement.findById(1L)).thenReturn(Optional.of(customer));
-                when(inventoryManagement.findById(100L)).thenReturn(Optional.empty());
+                when(inventoryManagement.findAllById(anyCollection())).thenReturn(Map.of());
 
                 mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(orderRequest)))
@@ -136,9 +186,8 @@ class OrderControllerTest {
                 Customer customer = new Customer("Test Customer", "test@example.com");
                 customer.setId(1L);
 
-                InventoryItem inventoryItem =
-                                new InventoryItem("Item1", "Description for Item1", 10);
-                inventoryItem.setId(100L);
+                InventoryItemDetails inventoryItem =
+                                new InventoryItemDetails(100L, "Item1", "Description for Item1");
 
                 LineItemRequest lineItemRequest = new LineItemRequest(100L, 2);
                 OrderRequest orderRequest =
@@ -146,25 +195,83 @@ class OrderControllerTest {
 
                 Order savedOrder = new Order(customer);
                 savedOrder.setId(10L);
-                savedOrder.setStatus("PENDING");
                 savedOrder.addLineItem(100L, 2, new BigDecimal("10.00"));
 
                 when(customerManagement.findById(1L)).thenReturn(Optional.of(customer));
-                when(inventoryManagement.findById(100L)).thenReturn(Optional.of(inventoryItem));
+                when(inventoryManagement.findAllById(anyCollection()))
+                                .thenReturn(Map.of(100L, inventoryItem));
                 when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
                 mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(orderRequest)))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$.data.id").value(10L))
+                                .andExpect(jsonPath("$.data.id").value("10"))
                                 .andExpect(jsonPath("$.data.status").value("PENDING"));
 
+                verify(inventoryManagement, times(1)).findAllById(anyCollection());
+                verify(inventoryManagement, never()).findById(anyLong());
                 verify(orderRepository, times(1)).save(any(Order.class));
                 verify(orderEventPublisher, times(1)).publishOrderCreated(eq(10L), anyList()); // Verify
                                                                                                // new
                                                                                                // publisher
         }
 
+        @Test
+        void createOrdersShouldReportResultPerOrderAndPublishCreatedOrdersAsBatch()
+                        throws Exception {
+                Customer customer = new Customer("Test Customer", "test@example.com");
+                customer.setId(1L);
+
+                InventoryItemDetails inventoryItem =
+                                new InventoryItemDetails(100L, "Item1", "Description for Item1");
+
+                List<OrderRequest> batch = List.of(
+                                new OrderRequest(1L, List.of(new LineItemRequest(100L, 2))),
+                                new OrderRequest(2L, List.of(new LineItemRequest(100L, 1))),
+                                new OrderRequest(1L, List.of(new LineItemRequest(200L, 1))));
+
+                Order savedOrder = new Order(customer);
+                savedOrder.setId(10L);
+                savedOrder.addLineItem(100L, 2, new BigDecimal("10.00"));
+
+                when(customerManagement.findAllById(anyCollection()))
+                                .thenReturn(Map.of(1L, customer));
+                when(inventoryManagement.findAllById(anyCollection()))
+                                .thenReturn(Map.of(100L, inventoryItem));
+                when(orderRepository.saveAll(anyList())).thenReturn(List.of(savedOrder));
+
+                mockMvc.perform(post("/orders/batch").contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(batch)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true))
+                                .andExpect(jsonPath("$.data[0].success").value(true))
+                                .andExpect(jsonPath("$.data[0].orderId").value("10"))
+                                .andExpect(jsonPath("$.data[1].success").value(false))
+                                .andExpect(jsonPath("$.data[1].message")
+                                                .value("Customer not found with id: 2"))
+                                .andExpect(jsonPath("$.data[2].success").value(false))
+                                .andExpect(jsonPath("$.data[2].message")
+                                                .value("Inventory item not found with id: 200"));
+
+                verify(customerManagement, times(1)).findAllById(anyCollection());
+                verify(inventoryManagement, times(1)).findAllById(anyCollection());
+                verify(orderRepository, times(1)).saveAll(anyList());
+                verify(orderRepository, never()).save(any(Order.class));
+                verify(orderEventPublisher, times(1)).publishOrdersCreated(
+                                argThat(created -> created.keySet().equals(Set.of(10L))));
+        }
+
+        @Test
+        void createOrdersShouldRejectEmptyBatch() throws Exception {
+                mockMvc.perform(post("/orders/batch").contentType(MediaType.APPLICATION_JSON)
+                                .content("[]"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(false))
+                                .andExpect(jsonPath("$.code").value(400));
+
+                verifyNoInteractions(orderRepository, orderEventPublisher);
+        }
+
         @Test
         void updateOrderStatusShouldUpdateStatusWhenOrderFound() throws Exception {
                 Customer customer = new Customer("Test Customer", "test@example.com");
@@ -172,15 +279,14 @@ class OrderControllerTest {
 
                 Order existingOrder = new Order(customer);
                 existingOrder.setId(10L);
-                existingOrder.setStatus("PENDING");
 
                 Order updatedOrder = new Order(customer);
                 updatedOrder.setId(10L);
-                updatedOrder.setStatus("SHIPPED");
+                updatedOrder.transitionTo(OrderStatus.SHIPPED);
 
                 StatusUpdateRequest statusUpdate = new StatusUpdateRequest("SHIPPED");
 
-                when(orderRepository.findById(10L)).thenReturn(Optional.of(existingOrder));
+                when(orderRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(existingOrder));
                 when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
 
                 mockMvc.perform(put("/orders/{id}/status", 10L)
@@ -202,15 +308,16 @@ class OrderControllerTest {
 
                 Order existingOrder = new Order(customer);
                 existingOrder.setId(10L);
-                existingOrder.setStatus("SHIPPED");
+                existingOrder.transitionTo(OrderStatus.SHIPPED);
 
                 Order updatedOrder = new Order(customer);
                 updatedOrder.setId(10L);
-                updatedOrder.setStatus("DELIVERED");
+                updatedOrder.transitionTo(OrderStatus.SHIPPED);
+                updatedOrder.transitionTo(OrderStatus.DELIVERED);
 
                 StatusUpdateRequest statusUpdate = new StatusUpdateRequest("DELIVERED");
 
-                when(orderRepository.findById(10L)).thenReturn(Optional.of(existingOrder));
+                when(orderRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(existingOrder));
                 when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
 
                 mockMvc.perform(put("/orders/{id}/status", 10L)
@@ -232,15 +339,14 @@ class OrderControllerTest {
 
                 Order existingOrder = new Order(customer);
                 existingOrder.setId(10L);
-                existingOrder.setStatus("PENDING");
 
                 Order updatedOrder = new Order(customer);
                 updatedOrder.setId(10L);
-                updatedOrder.setStatus("CANCELLED");
+                updatedOrder.transitionTo(OrderStatus.CANCELLED);
 
                 StatusUpdateRequest statusUpdate = new StatusUpdateRequest("CANCELLED");
 
-                when(orderRepository.findById(10L)).thenReturn(Optional.of(existingOrder));
+                when(orderRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(existingOrder));
                 when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
 
                 mockMvc.perform(put("/orders/{id}/status", 10L)
@@ -259,7 +365,7 @@ class OrderControllerTest {
         @Test
         void updateOrderStatusShouldReturnNotFoundWhenOrderDoesNotExist() throws Exception {
                 StatusUpdateRequest statusUpdate = new StatusUpdateRequest("SHIPPED");
-                when(orderRepository.findById(anyLong())).thenReturn(Optional.empty());
+                when(orderRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
                 mockMvc.perform(put("/orders/{id}/status", 99L)
                                 .contentType(MediaType.APPLICATION_JSON)
@@ -269,14 +375,75 @@ class OrderControllerTest {
                                 .andExpect(jsonPath("$.code").value(404));
         }
 
+        @Test
+        void updateOrderStatusShouldRejectTransitionsTheStatusDoesNotAllow() throws Exception {
+                Customer customer = new Customer("Test Customer", "test@example.com");
+                customer.setId(1L);
+
+                Order deliveredOrder = new Order(customer);
+                deliveredOrder.setId(10L);
+                deliveredOrder.transitionTo(OrderStatus.SHIPPED);
+                deliveredOrder.transitionTo(OrderStatus.DELIVERED);
+
+                when(orderRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(deliveredOrder));
+
+                mockMvc.perform(put("/orders/{id}/status", 10L)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                                new StatusUpdateRequest("CANCELLED"))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(false))
+                                .andExpect(jsonPath("$.code").value(409));
+
+                verify(orderRepository, never()).save(any(Order.class));
+                verifyNoInteractions(orderEventPublisher);
+        }
+
+        @Test
+        void updateOrderStatusShouldRejectUnknownStatus() throws Exception {
+                mockMvc.perform(put("/orders/{id}/status", 10L)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                                new StatusUpdateRequest("COMPLETED"))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(false))
+                                .andExpect(jsonPath("$.code").value(400));
+
+                verifyNoInteractions(orderRepository, orderEventPublisher);
+        }
+
+        @Test
+        void getAllOrdersShouldFilterByStatus() throws Exception {
+                LocalDateTime orderDate = LocalDateTime.of(2024, 1, 1, 12, 0);
+                OrderSummary shipped = new OrderSummary(12L, 1L, "Test Customer", OrderStatus.SHIPPED,
+                                1000, 1, orderDate, orderDate);
+                when(orderSummaryRepository.findPage(OrderStatus.SHIPPED, Long.MIN_VALUE, Limit.of(51)))
+                                .thenReturn(List.of(shipped));
+
+                mockMvc.perform(get("/orders").param("status", "shipped"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.items[0].id").value("12"))
+                                .andExpect(jsonPath("$.data.items[0].status").value("SHIPPED"));
+
+                mockMvc.perform(get("/orders").param("status", "LOST"))
+                                .andExpect(jsonPath("$.code").value(400));
+                verify(orderSummaryRepository, never()).findPage(Long.MIN_VALUE, Limit.of(51));
+        }
+
         @Test
         void deleteOrderShouldDeleteOrderWhenFound() throws Exception {
+                LocalDateTime orderDate = LocalDateTime.of(2024, 1, 1, 12, 0);
+                OrderSummary summary = new OrderSummary(10L, 1L, "Test Customer", OrderStatus.SHIPPED,
+                                1000, 1, orderDate, orderDate);
                 when(orderRepository.existsById(10L)).thenReturn(true);
                 doNothing().when(orderRepository).deleteById(10L);
+                when(orderSummaryRepository.findById(10L)).thenReturn(Optional.of(summary));
 
                 mockMvc.perform(delete("/orders/{id}", 10L)).andExpect(status().isOk());
 
                 verify(orderRepository, times(1)).deleteById(10L);
+                verify(orderSummaryRepository, times(1)).delete(summary);
+                verify(orderMetrics, times(1)).orderDeleted(OrderStatus.SHIPPED);
         }
 
         @Test
@@ -286,5 +453,8 @@ class OrderControllerTest {
                 mockMvc.perform(delete("/orders/{id}", 99L)).andExpect(status().isOk())
                                 .andExpect(jsonPath("$.success").value(false))
                                 .andExpect(jsonPath("$.code").value(404));
+
+                verify(orderSummaryRepository, never()).findById(anyLong());
+                verifyNoInteractions(orderMetrics);
         }
 }
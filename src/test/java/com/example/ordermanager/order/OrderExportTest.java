@@ -0,0 +1,136 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.customer.CustomerRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderExportTest {
+
+  private static final int ORDERS = 2_000;
+
+  @Autowired
+  private OrderExporter orderExporter;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private CustomerRepository customerRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void createOrders() {
+    if (orderRepository.count() >= ORDERS) {
+      return;
+    }
+    List<Customer> customers = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      customers.add(customerRepository.save(new Customer("Customer " + i, i + "@example.com")));
+    }
+    List<Order> orders = new ArrayList<>();
+    for (int i = 0; i < ORDERS; i++) {
+      Order order = new Order(customers.get(i % customers.size()));
+      order.addLineItem(1L, 1, new BigDecimal("10.00"));
+      order.addLineItem(2L, 3, new BigDecimal("2.50"));
+      orders.add(order);
+    }
+    orderRepository.saveAll(orders);
+  }
+
+  @Test
+  void exportKeepsPersistenceContextBoundedRegardlessOfOrderCount() throws Exception {
+    // Heap usage is too noisy to assert on, so watch the persistence context instead: it is
+    // what would grow with the number of exported orders if entities were retained
+    PersistenceContextProbe out = new PersistenceContextProbe();
+
+    orderExporter.exportTo(out);
+
+    assertEquals(orderRepository.count(), out.lines);
+    assertTrue(out.maxManagedEntities > 0, "Writes were not sampled inside the transaction");
+    assertTrue(out.maxManagedEntities <= 10,
+        "Persistence context grew to " + out.maxManagedEntities + " entities");
+
+    JsonNode first = objectMapper.readTree(out.firstLine.toByteArray());
+    assertEquals(2, first.get("lineItems").size());
+    assertEquals(0, new BigDecimal("17.50").compareTo(first.get("totalAmount").decimalValue()));
+    assertTrue(first.get("customer").get("name").asText().startsWith("Customer "));
+  }
+
+  @Test
+  void exportEndpointStreamsOneOrderPerLine() throws Exception {
+    MvcResult result = mockMvc.perform(get("/orders/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn().getResponse().getContentAsString();
+
+    assertEquals(orderRepository.count(), body.lines().count());
+  }
+
+  /**
+   * Counts exported lines and samples the size of the current persistence context on every write.
+   */
+  private class PersistenceContextProbe extends OutputStream {
+
+    private final ByteArrayOutputStream firstLine = new ByteArrayOutputStream();
+    private long lines;
+    private int maxManagedEntities;
+
+    @Override
+    public void write(int b) {
+      if (lines == 0 && b != '\n') {
+        firstLine.write(b);
+      }
+      if (b == '\n') {
+        lines++;
+      }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      maxManagedEntities = Math.max(maxManagedEntities,
+          entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+      for (int i = offset; i < offset + length; i++) {
+        write(bytes[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.customer.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places 10k multi-line orders the way {@code POST /orders/batch} does and reports throughput and
+ * the number of JDBC statements Hibernate prepared. Only runs on request:
+ *
+ * <pre>
+ * mvn test -Dtest=OrderInsertBenchmark -Dbenchmark=true
+ * </pre>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderInsertBenchmark {
+
+  private static final int ORDERS = 10_000;
+  private static final int LINES_PER_ORDER = 5;
+  private static final int ORDERS_PER_BATCH = 500;
+  private static final int WARMUP_ORDERS = 2_000;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private CustomerRepository customerRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void placeTenThousandMultiLineOrders() {
+    Customer customer = customerRepository.save(new Customer("Benchmark", "bench@example.com"));
+    place(customer, WARMUP_ORDERS);
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    long start = System.nanoTime();
+
+    place(customer, ORDERS);
+
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    System.out.printf("Placed %,d orders with %d lines each in %,d ms (%,.0f orders/s)%n", ORDERS,
+        LINES_PER_ORDER, elapsedMillis, ORDERS * 1000.0 / Math.max(1, elapsedMillis));
+    System.out.printf("JDBC statements prepared: %,d, entities inserted: %,d%n",
+        statistics.getPrepareStatementCount(), statistics.getEntityInsertCount());
+  }
+
+  private void place(Customer customer, int count) {
+    for (int placed = 0; placed < count; placed += ORDERS_PER_BATCH) {
+      List<Order> batch = new ArrayList<>(ORDERS_PER_BATCH);
+      for (int i = 0; i < ORDERS_PER_BATCH; i++) {
+        Order order = new Order(customer);
+        for (int line = 1; line <= LINES_PER_ORDER; line++) {
+          order.addLineItem((long) line, line, new BigDecimal("10.00"));
+        }
+        batch.add(order);
+      }
+      orderRepository.saveAll(batch);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.customer.CustomerRepository;
+import com.example.ordermanager.inventory.InventoryItem;
+import com.example.ordermanager.inventory.InventoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.example.ordermanager.order.OrderPlacementQueryCountTest$SelectRecorder")
+@AutoConfigureMockMvc
+class OrderPlacementQueryCountTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private CustomerRepository customerRepository;
+
+  @Autowired
+  private InventoryRepository inventoryRepository;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 50})
+  void validatesAllLineItemsWithOneInventoryQuery(int lines) throws Exception {
+    Customer customer = customerRepository.save(new Customer("Bulk Buyer", "bulk@example.com"));
+    List<LineItemRequest> items = new ArrayList<>();
+    for (int i = 0; i < lines; i++) {
+      InventoryItem item =
+          inventoryRepository.save(new InventoryItem("Item " + i, "Description " + i, 1_000));
+      items.add(new LineItemRequest(item.getId(), 1));
+    }
+
+    SelectRecorder.STATEMENTS.clear();
+    mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new OrderRequest(customer.getId(), items))))
+        .andExpect(jsonPath("$.success").value(true));
+
+    assertEquals(1, SelectRecorder.selectsFrom("inventory_item"));
+    assertEquals(1, SelectRecorder.selectsFrom("customer"));
+  }
+
+  /**
+   * Records every SELECT Hibernate sends to the database.
+   */
+  public static class SelectRecorder implements StatementInspector {
+
+    static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String inspect(String sql) {
+      String normalized = sql.toLowerCase(Locale.ROOT);
+      if (normalized.startsWith("select")) {
+        STATEMENTS.add(normalized);
+      }
+      return sql;
+    }
+
+    static long selectsFrom(String table) {
+      return STATEMENTS.stream().filter(sql -> sql.contains(" from " + table + " ")).count();
+    }
+  }
+}
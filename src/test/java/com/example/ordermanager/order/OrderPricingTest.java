@@ -0,0 +1,127 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.customer.CustomerRepository;
+import com.example.ordermanager.inventory.InventoryItem;
+import com.example.ordermanager.inventory.InventoryRepository;
+import com.example.ordermanager.pricing.PriceCatalog;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+// Leaves orders and reloaded prices behind that other tests sharing the context do not expect
+@DirtiesContext
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderPricingTest {
+
+  private static final int LINES = 5;
+  private static final int ORDERS = 100;
+  private static final int RELOADS = 5 * ORDERS;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private PriceCatalog priceCatalog;
+
+  @Autowired
+  private CustomerRepository customerRepository;
+
+  @Autowired
+  private InventoryRepository inventoryRepository;
+
+  @Test
+  void reloadEndpointReplacesThePriceBook() throws Exception {
+    long version = priceCatalog.current().version();
+
+    mockMvc.perform(put("/admin/prices").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"defaultPrice\": 4.5, \"prices\": {\"1\": 2.25}}"))
+        .andExpect(jsonPath("$.success").value(true))
+        .andExpect(jsonPath("$.data.version").value(version + 1));
+    mockMvc.perform(get("/admin/prices"))
+        .andExpect(jsonPath("$.data.defaultPrice").value(4.5))
+        .andExpect(jsonPath("$.data.prices['1']").value(2.25));
+
+    mockMvc.perform(put("/admin/prices").contentType(MediaType.APPLICATION_JSON)
+        .content("{\"prices\": {\"1\": -2}}"))
+        .andExpect(jsonPath("$.success").value(false))
+        .andExpect(jsonPath("$.code").value(400));
+    assertEquals(version + 1, priceCatalog.current().version());
+  }
+
+  @Test
+  void linesOfAnOrderArePricedFromOneSnapshotWhilePricesAreReloaded() throws Exception {
+    Customer customer = customerRepository.save(new Customer("Pricing", "pricing@example.com"));
+    List<LineItemRequest> items = new ArrayList<>();
+    for (int i = 0; i < LINES; i++) {
+      InventoryItem item = inventoryRepository.save(new InventoryItem("Item " + i, "Item", 1_000));
+      items.add(new LineItemRequest(item.getId(), 1));
+    }
+    String request = objectMapper.writeValueAsString(new OrderRequest(customer.getId(), items));
+
+    // Each reload prices every item at its version in cents, so a line's price tells which
+    // snapshot it came from. A bounded number of reloads, paced to spread over the orders.
+    reloadAtNextVersion(items);
+    AtomicBoolean ordering = new AtomicBoolean(true);
+    CompletableFuture<Void> reloads = CompletableFuture.runAsync(() -> {
+      for (int reload = 0; reload < RELOADS && ordering.get(); reload++) {
+        reloadAtNextVersion(items);
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+      }
+    });
+
+    try {
+      for (int i = 0; i < ORDERS; i++) {
+        JsonNode order = objectMapper.readTree(mockMvc.perform(post("/orders")
+                .contentType(MediaType.APPLICATION_JSON).content(request))
+            .andReturn().getResponse().getContentAsString()).get("data");
+
+        long version = order.get("lineItems").get(0).get("priceVersion").asLong();
+        for (JsonNode line : order.get("lineItems")) {
+          assertEquals(version, line.get("priceVersion").asLong());
+          assertEquals(0, BigDecimal.valueOf(version, 2).compareTo(line.get("price").decimalValue()));
+        }
+        assertEquals(0, BigDecimal.valueOf(version * LINES, 2)
+            .compareTo(order.get("totalAmount").decimalValue()));
+      }
+    } finally {
+      ordering.set(false);
+      reloads.join();
+    }
+    assertTrue(priceCatalog.current().version() > 1);
+  }
+
+  private void reloadAtNextVersion(List<LineItemRequest> items) {
+    BigDecimal price = BigDecimal.valueOf(priceCatalog.current().version() + 1, 2);
+    Map<Long, BigDecimal> prices = new HashMap<>();
+    items.forEach(item -> prices.put(item.inventoryItemId(), price));
+    priceCatalog.reload(price, prices);
+  }
+}
@@ -0,0 +1,107 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.customer.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderReadPathTest {
+
+  private static final int LINES_PER_ORDER = 3;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private OrderSummaryRepository orderSummaryRepository;
+
+  @Autowired
+  private OrderSummaryProjection orderSummaryProjection;
+
+  @Autowired
+  private CustomerRepository customerRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 10, 100})
+  void readsPageOfOrderSummariesWithOneStatementRegardlessOfPageSize(int orders) {
+    List<Order> created = new ArrayList<>();
+    for (int i = 0; i < orders; i++) {
+      Customer customer =
+          customerRepository.save(new Customer("Customer " + i, "customer" + i + "@example.com"));
+      Order order = new Order(customer);
+      for (int line = 1; line <= LINES_PER_ORDER; line++) {
+        order.addLineItem((long) line, line, new BigDecimal("10.00"));
+      }
+      created.add(order);
+    }
+    created = orderRepository.saveAll(created);
+    // The orders were saved without events, so project them in one go
+    orderSummaryProjection.rebuild();
+    Long after = created.get(0).getId() - 1;
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    List<OrderSummary> page = orderSummaryRepository.findPage(after, Limit.of(orders));
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(orders, page.size());
+    for (OrderSummary summary : page) {
+      assertEquals(1 + 2 + 3, summary.getItemCount());
+      assertEquals(0, new BigDecimal("60.00").compareTo(summary.getTotalAmount()));
+    }
+    assertEquals("Customer " + (orders - 1), page.get(orders - 1).getCustomerName());
+  }
+
+  @Test
+  void readsPageOfOrderSummariesInOneStatusThroughTheStatusIndex() {
+    Customer customer = customerRepository.save(new Customer("Shipper", "shipper@example.com"));
+    List<Order> created = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      Order order = new Order(customer);
+      order.addLineItem(1L, 1, new BigDecimal("10.00"));
+      if (i % 3 == 0) {
+        order.transitionTo(OrderStatus.SHIPPED);
+      }
+      created.add(order);
+    }
+    created = orderRepository.saveAll(created);
+    orderSummaryProjection.rebuild();
+    Long after = created.get(0).getId() - 1;
+
+    List<OrderSummary> shipped =
+        orderSummaryRepository.findPage(OrderStatus.SHIPPED, after, Limit.of(10));
+
+    assertEquals(List.of(created.get(0).getId(), created.get(3).getId(), created.get(6).getId(),
+        created.get(9).getId()), shipped.stream().map(OrderSummary::getId).toList());
+    assertTrue(shipped.stream().allMatch(summary -> summary.getStatus() == OrderStatus.SHIPPED));
+
+    String plan = jdbcTemplate.queryForObject(
+        "explain select order_id from order_summary where status = 'S' and order_id > ? "
+            + "order by order_id",
+        String.class, after);
+    assertTrue(plan.toLowerCase().contains("idx_order_summary_status_order_id"), plan);
+  }
+}
@@ -0,0 +1,91 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.customer.CustomerRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+// Leaves orders behind that other tests sharing the context do not expect
+@DirtiesContext
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderStatusConcurrencyTest {
+
+  private static final int ORDERS = 20;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private CustomerRepository customerRepository;
+
+  @Test
+  void onlyOneOfTwoConcurrentTransitionsOfAnOrderApplies() throws Exception {
+    Customer customer = customerRepository.save(new Customer("Racing", "racing@example.com"));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      for (int i = 0; i < ORDERS; i++) {
+        Order order = new Order(customer);
+        order.addLineItem(1L, 1, new BigDecimal("10.00"));
+        Long id = orderRepository.save(order).getId();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<JsonNode>> responses = new ArrayList<>();
+        for (String status : List.of("SHIPPED", "CANCELLED")) {
+          responses.add(executor.submit(() -> {
+            start.await();
+            return updateStatus(id, status);
+          }));
+        }
+        start.countDown();
+
+        List<Integer> codes = new ArrayList<>();
+        String applied = null;
+        for (Future<JsonNode> response : responses) {
+          JsonNode body = response.get(30, TimeUnit.SECONDS);
+          codes.add(body.get("code").asInt());
+          if (body.get("success").asBoolean()) {
+            applied = body.get("data").get("status").asText();
+          }
+        }
+        codes.sort(null);
+        assertEquals(List.of(200, 409), codes, "Order " + id);
+        assertEquals(applied, orderRepository.findById(id).orElseThrow().getStatus().name());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private JsonNode updateStatus(Long id, String status) throws Exception {
+    return objectMapper.readTree(mockMvc.perform(put("/orders/{id}/status", id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new StatusUpdateRequest(status))))
+        .andReturn().getResponse().getContentAsString());
+  }
+}
@@ -0,0 +1,50 @@
+package com.example.ordermanager.order;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatusTest {
+
+  @Test
+  void followsTheOrderLifecycle() {
+    assertEquals(EnumSet.of(OrderStatus.SHIPPED, OrderStatus.CANCELLED), OrderStatus.PENDING.next());
+    assertEquals(EnumSet.of(OrderStatus.DELIVERED), OrderStatus.SHIPPED.next());
+    assertTrue(OrderStatus.DELIVERED.next().isEmpty());
+    assertTrue(OrderStatus.CANCELLED.next().isEmpty());
+    assertFalse(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.CANCELLED));
+    assertFalse(OrderStatus.PENDING.canTransitionTo(OrderStatus.PENDING));
+  }
+
+  @Test
+  void predecessorsIncludeEveryStatusThatCanStillReachIt() {
+    assertTrue(OrderStatus.PENDING.predecessors().isEmpty());
+    assertEquals(EnumSet.of(OrderStatus.PENDING), OrderStatus.SHIPPED.predecessors());
+    assertEquals(EnumSet.of(OrderStatus.PENDING, OrderStatus.SHIPPED),
+        OrderStatus.DELIVERED.predecessors());
+    assertEquals(EnumSet.of(OrderStatus.PENDING), OrderStatus.CANCELLED.predecessors());
+  }
+
+  @ParameterizedTest
+  @EnumSource(OrderStatus.class)
+  void codesRoundTrip(OrderStatus status) {
+    assertEquals(status, OrderStatus.fromCode(status.code()));
+    assertEquals(status, OrderStatus.parse(" " + status.name().toLowerCase() + " "));
+  }
+
+  @Test
+  void rejectsUnknownStatuses() {
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> OrderStatus.parse("COMPLETED"));
+    assertTrue(e.getMessage().contains("PENDING, SHIPPED, DELIVERED, CANCELLED"));
+    assertThrows(IllegalArgumentException.class, () -> OrderStatus.parse(null));
+    assertThrows(IllegalArgumentException.class, () -> OrderStatus.fromCode('X'));
+  }
+}
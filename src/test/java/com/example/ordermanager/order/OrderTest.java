@@ -0,0 +1,61 @@
+package com.example.ordermanager.order;
+
+import com.example.ordermanager.customer.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderTest {
+
+  private final Order order = new Order(new Customer("Test", "test@example.com"));
+
+  @Test
+  void keepsTotalInSyncWithLineItems() {
+    order.addLineItem(1L, 3, new BigDecimal("19.99"));
+    order.addLineItem(2L, 1, new BigDecimal("0.5"));
+    assertEquals(new BigDecimal("60.47"), order.getTotalAmount());
+    assertEquals(6047, order.getTotalCents());
+
+    LineItem first = order.getLineItems().get(0);
+    assertEquals(new BigDecimal("59.97"), first.getTotal());
+    assertTrue(order.removeLineItem(first));
+    assertFalse(order.removeLineItem(first));
+    assertEquals(new BigDecimal("0.50"), order.getTotalAmount());
+  }
+
+  @Test
+  void readsTotalWithoutRecomputing() {
+    order.addLineItem(1L, 2, new BigDecimal("10.00"));
+    assertSame(order.getTotalAmount(), order.getTotalAmount());
+  }
+
+  @Test
+  void rejectsFractionsOfACent() {
+    assertThrows(ArithmeticException.class,
+        () -> order.addLineItem(1L, 1, new BigDecimal("0.001")));
+    assertEquals(BigDecimal.ZERO.setScale(2), order.getTotalAmount());
+  }
+
+  @Test
+  void lineItemsCannotBeModifiedAroundTheTotal() {
+    assertThrows(UnsupportedOperationException.class,
+        () -> order.getLineItems().add(new LineItem(1L, 1, BigDecimal.ONE)));
+  }
+
+  @Test
+  void movesThroughTheStatusLifecycle() {
+    assertEquals(OrderStatus.PENDING, order.getStatus());
+    assertEquals(OrderStatus.PENDING, order.transitionTo(OrderStatus.SHIPPED));
+
+    IllegalStatusTransitionException e = assertThrows(IllegalStatusTransitionException.class,
+        () -> order.transitionTo(OrderStatus.CANCELLED));
+    assertEquals(OrderStatus.SHIPPED, e.getFrom());
+    assertEquals(OrderStatus.SHIPPED, order.getStatus());
+  }
+}
@@ -0,0 +1,152 @@
+package com.example.ordermanager.order.internal;
+
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.order.OrderMetricsSnapshot;
+import com.example.ordermanager.order.OrderMetricsSnapshot.SkuQuantity;
+import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.order.OrderSummaryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LiveOrderMetricsTest {
+
+  private static final int THREADS = 16;
+  private static final int ORDERS_PER_THREAD = 10_000;
+
+  private final AtomicLong now =
+      new AtomicLong(Instant.parse("2024-01-01T12:00:00Z").toEpochMilli());
+  private final LiveOrderMetrics metrics =
+      new LiveOrderMetrics(() -> Instant.ofEpochMilli(now.get()));
+
+  @Test
+  void countsPlacedOrdersAndStatusChanges() {
+    metrics.orderPlaced(List.of(new LineItemData(1L, 2, new BigDecimal("10.00")),
+        new LineItemData(2L, 3, new BigDecimal("2.50"))));
+    metrics.orderPlaced(List.of(new LineItemData(2L, 1, new BigDecimal("2.50"))));
+    metrics.statusChanged(OrderStatus.PENDING, OrderStatus.SHIPPED);
+    metrics.orderDeleted(OrderStatus.SHIPPED);
+
+    OrderMetricsSnapshot snapshot = metrics.snapshot(10);
+
+    assertEquals(1, snapshot.ordersByStatus().get(OrderStatus.PENDING));
+    assertEquals(0, snapshot.ordersByStatus().get(OrderStatus.SHIPPED));
+    assertEquals(0, snapshot.ordersByStatus().get(OrderStatus.DELIVERED));
+    assertEquals(2, snapshot.lastMinute().orders());
+    assertEquals(new BigDecimal("30.00"), snapshot.lastMinute().revenue());
+    assertEquals(new BigDecimal("30.00"), snapshot.lastHour().revenue());
+    assertEquals(List.of(new SkuQuantity(2L, 4), new SkuQuantity(1L, 2)), snapshot.topSkus());
+  }
+
+  @Test
+  void orderFirstSeenPastPendingIsCountedInItsStatus() {
+    metrics.orderPlaced(OrderStatus.DELIVERED,
+        List.of(new LineItemData(1L, 2, new BigDecimal("10.00"))));
+
+    OrderMetricsSnapshot snapshot = metrics.snapshot(10);
+    assertEquals(0, snapshot.ordersByStatus().get(OrderStatus.PENDING));
+    assertEquals(1, snapshot.ordersByStatus().get(OrderStatus.DELIVERED));
+    assertEquals(new BigDecimal("20.00"), snapshot.lastMinute().revenue());
+    assertEquals(List.of(new SkuQuantity(1L, 2)), snapshot.topSkus());
+  }
+
+  @Test
+  void recountReplacesTheOrdersByStatus() {
+    metrics.orderPlaced(List.of(new LineItemData(1L, 1, new BigDecimal("10.00"))));
+    metrics.statusChanged(OrderStatus.PENDING, OrderStatus.CANCELLED);
+
+    metrics.recount(List.of(statusCount(OrderStatus.SHIPPED, 3)));
+
+    OrderMetricsSnapshot snapshot = metrics.snapshot(0);
+    assertEquals(0, snapshot.ordersByStatus().get(OrderStatus.CANCELLED));
+    assertEquals(3, snapshot.ordersByStatus().get(OrderStatus.SHIPPED));
+    assertEquals(1, snapshot.lastMinute().orders());
+  }
+
+  @Test
+  void revenueLeavesTheWindowsAsTimePasses() {
+    metrics.orderPlaced(List.of(new LineItemData(1L, 1, new BigDecimal("10.00"))));
+    now.addAndGet(TimeUnit.SECONDS.toMillis(30));
+    metrics.orderPlaced(List.of(new LineItemData(1L, 1, new BigDecimal("5.00"))));
+
+    now.addAndGet(TimeUnit.SECONDS.toMillis(45));
+    OrderMetricsSnapshot snapshot = metrics.snapshot(0);
+    assertEquals(1, snapshot.lastMinute().orders());
+    assertEquals(new BigDecimal("5.00"), snapshot.lastMinute().revenue());
+    assertEquals(new BigDecimal("15.00"), snapshot.lastHour().revenue());
+    assertEquals(List.of(), snapshot.topSkus());
+
+    now.addAndGet(TimeUnit.HOURS.toMillis(1));
+    snapshot = metrics.snapshot(0);
+    assertEquals(0, snapshot.lastMinute().orders());
+    assertEquals(0, snapshot.lastHour().orders());
+    assertEquals(new BigDecimal("0.00"), snapshot.lastHour().revenue());
+  }
+
+  @Test
+  void ranksOnlyTheRequestedNumberOfSkus() {
+    for (long item = 1; item <= 50; item++) {
+      metrics.orderPlaced(List.of(new LineItemData(item, (int) item, new BigDecimal("1.00"))));
+    }
+
+    assertEquals(List.of(new SkuQuantity(50L, 50), new SkuQuantity(49L, 49),
+        new SkuQuantity(48L, 48)), metrics.snapshot(3).topSkus());
+  }
+
+  @Test
+  void concurrentUpdatesAreNotLost() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> updaters = new ArrayList<>();
+    for (int thread = 0; thread < THREADS; thread++) {
+      long item = thread % 4;
+      updaters.add(executor.submit(() -> {
+        start.await();
+        for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+          metrics.orderPlaced(List.of(new LineItemData(item, 1, new BigDecimal("1.25"))));
+          metrics.statusChanged(OrderStatus.PENDING, OrderStatus.SHIPPED);
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> updater : updaters) {
+      updater.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    OrderMetricsSnapshot snapshot = metrics.snapshot(10);
+    long orders = (long) THREADS * ORDERS_PER_THREAD;
+    assertEquals(0, snapshot.ordersByStatus().get(OrderStatus.PENDING));
+    assertEquals(orders, snapshot.ordersByStatus().get(OrderStatus.SHIPPED));
+    assertEquals(orders, snapshot.lastMinute().orders());
+    assertEquals(new BigDecimal("1.25").multiply(BigDecimal.valueOf(orders)),
+        snapshot.lastMinute().revenue());
+    assertEquals(orders, snapshot.topSkus().stream().mapToLong(SkuQuantity::quantity).sum());
+  }
+
+  private static OrderSummaryRepository.StatusCount statusCount(OrderStatus status, long orders) {
+    return new OrderSummaryRepository.StatusCount() {
+      @Override
+      public OrderStatus getStatus() {
+        return status;
+      }
+
+      @Override
+      public long getOrders() {
+        return orders;
+      }
+    };
+  }
+}
@@ -0,0 +1,253 @@
+package com.example.ordermanager.order.internal;
+
+import com.example.ordermanager.customer.Customer;
+import com.example.ordermanager.customer.CustomerRepository;
+import com.example.ordermanager.events.LineItemData;
+import com.example.ordermanager.events.OrderCreated;
+import com.example.ordermanager.events.OrderShipped;
+import com.example.ordermanager.events.OrderStatusUpdated;
+import com.example.ordermanager.order.Order;
+import com.example.ordermanager.order.OrderEventPublisher;
+import com.example.ordermanager.order.OrderMetricsSnapshot;
+import com.example.ordermanager.order.OrderRepository;
+import com.example.ordermanager.order.OrderStatus;
+import com.example.ordermanager.order.OrderSummary;
+import com.example.ordermanager.order.OrderSummaryRepository;
+import com.example.ordermanager.order.internal.JpaOrderSummaryProjection.SummaryChange;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The orders created here would otherwise leak into tests that share the application context
+@DirtiesContext
+@SpringBootTest
+class OrderSummaryProjectionTest {
+
+  @Autowired
+  private JpaOrderSummaryProjection projection;
+
+  @Autowired
+  private LiveOrderMetrics orderMetrics;
+
+  @Autowired
+  private OrderSummaryRepository orderSummaryRepository;
+
+  @Autowired
+  private OrderRepository orderRepository;
+
+  @Autowired
+  private CustomerRepository customerRepository;
+
+  @Autowired
+  private OrderEventPublisher orderEventPublisher;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Test
+  void listenersProjectNewOrdersAndStatusChanges() {
+    long shippedOrders = orderMetrics.snapshot(0).ordersByStatus().get(OrderStatus.SHIPPED);
+    Order order = transactionTemplate.execute(status -> {
+      Order saved = orderRepository.save(newOrder());
+      orderEventPublisher.publishOrderCreated(saved.getId(), List.of(
+          new LineItemData(1L, 2, new BigDecimal("10.00")),
+          new LineItemData(2L, 3, new BigDecimal("2.50"))));
+      return saved;
+    });
+
+    OrderSummary created = awaitSummary(order.getId(), OrderStatus.PENDING);
+    assertEquals(order.getCustomer().getId(), created.getCustomerId());
+    assertEquals("Summary Customer", created.getCustomerName());
+    assertEquals(0, new BigDecimal("27.50").compareTo(created.getTotalAmount()));
+    assertEquals(5, created.getItemCount());
+    assertEquals(order.getOrderDate().withNano(0), created.getCreatedAt().withNano(0));
+
+    transactionTemplate.executeWithoutResult(status -> {
+      Order shipped = orderRepository.findById(order.getId()).orElseThrow();
+      shipped.transitionTo(OrderStatus.SHIPPED);
+      orderEventPublisher.publishOrderStatusUpdated(order.getId(), "PENDING", "SHIPPED");
+      orderEventPublisher.publishOrderShipped(order.getId());
+    });
+
+    OrderSummary shipped = awaitSummary(order.getId(), OrderStatus.SHIPPED);
+    assertTrue(!shipped.getUpdatedAt().isBefore(created.getUpdatedAt()));
+
+    // Both status events reach the listeners, only the first one changes the summary
+    await().atMost(Duration.ofSeconds(5)).until(() -> orderMetrics.snapshot(0).ordersByStatus()
+        .get(OrderStatus.SHIPPED) == shippedOrders + 1);
+  }
+
+  @Test
+  void repeatedAndStaleEventsLeaveTheSummaryUnchanged() {
+    Order order = orderRepository.save(newOrder());
+
+    apply(() -> projection.orderCreated(order.getId()));
+    OrderSummary created = summaryOf(order.getId()).orElseThrow();
+    apply(() -> projection.orderCreated(order.getId()));
+    assertEquals(created.getUpdatedAt(), summaryOf(order.getId()).orElseThrow().getUpdatedAt());
+
+    apply(() -> projection.statusChanged(order.getId(), OrderStatus.SHIPPED));
+    OrderSummary shipped = summaryOf(order.getId()).orElseThrow();
+    assertEquals(OrderStatus.SHIPPED, shipped.getStatus());
+    apply(() -> projection.statusChanged(order.getId(), OrderStatus.SHIPPED));
+    assertEquals(shipped.getUpdatedAt(), summaryOf(order.getId()).orElseThrow().getUpdatedAt());
+
+    apply(() -> projection.statusChanged(order.getId(), OrderStatus.DELIVERED));
+    // Resubmitted events from earlier in the lifecycle arrive after the order was delivered
+    apply(() -> projection.statusChanged(order.getId(), OrderStatus.SHIPPED));
+    apply(() -> projection.statusChanged(order.getId(), OrderStatus.CANCELLED));
+    apply(() -> projection.orderCreated(order.getId()));
+
+    assertEquals(OrderStatus.DELIVERED, summaryOf(order.getId()).orElseThrow().getStatus());
+    assertEquals(1, orderSummaryRepository.findAllById(List.of(order.getId())).size());
+  }
+
+  @Test
+  void statusChangeSkippedOverALostEventStillApplies() {
+    Order order = orderRepository.save(newOrder());
+    apply(() -> projection.orderCreated(order.getId()));
+
+    apply(() -> projection.statusChanged(order.getId(), OrderStatus.DELIVERED));
+
+    assertEquals(OrderStatus.DELIVERED, summaryOf(order.getId()).orElseThrow().getStatus());
+  }
+
+  @Test
+  void statusChangeForAnOrderWithoutSummaryProjectsTheOrder() {
+    Order order = newOrder();
+    order.transitionTo(OrderStatus.CANCELLED);
+    Order saved = orderRepository.save(order);
+
+    Optional<SummaryChange> change =
+        transactionTemplate.execute(status -> projection.statusChanged(saved.getId(),
+            OrderStatus.CANCELLED));
+
+    assertEquals(Optional.of(new SummaryChange.Inserted(OrderStatus.CANCELLED)), change);
+    OrderSummary summary = summaryOf(saved.getId()).orElseThrow();
+    assertEquals(OrderStatus.CANCELLED, summary.getStatus());
+    assertEquals(5, summary.getItemCount());
+  }
+
+  @Test
+  void orderWhoseStatusEventArrivesFirstIsCountedOnce() {
+    Order order = newOrder();
+    order.transitionTo(OrderStatus.SHIPPED);
+    Order saved = orderRepository.save(order);
+    OrderMetricsSnapshot before = orderMetrics.snapshot(0);
+    // Called directly rather than through the asynchronous listener proxy
+    OrderEventProcessor orderEventProcessor =
+        new OrderEventProcessor(projection, orderMetrics, orderRepository);
+
+    apply(() -> orderEventProcessor.onOrderShipped(new OrderShipped(saved.getId())));
+    apply(() -> orderEventProcessor.onOrderCreated(new OrderCreated(saved.getId(), List.of(
+        new LineItemData(1L, 2, new BigDecimal("10.00")),
+        new LineItemData(2L, 3, new BigDecimal("2.50"))))));
+
+    OrderMetricsSnapshot after = orderMetrics.snapshot(0);
+    assertEquals(before.ordersByStatus().get(OrderStatus.SHIPPED) + 1,
+        after.ordersByStatus().get(OrderStatus.SHIPPED));
+    assertEquals(before.ordersByStatus().get(OrderStatus.PENDING),
+        after.ordersByStatus().get(OrderStatus.PENDING));
+    assertEquals(before.lastHour().orders() + 1, after.lastHour().orders());
+    assertEquals(0, before.lastHour().revenue().add(new BigDecimal("27.50"))
+        .compareTo(after.lastHour().revenue()));
+  }
+
+  @Test
+  void statusEventWithAnUnknownStatusIsSkipped() {
+    Order order = orderRepository.save(newOrder());
+    apply(() -> projection.orderCreated(order.getId()));
+    OrderEventProcessor orderEventProcessor =
+        new OrderEventProcessor(projection, orderMetrics, orderRepository);
+
+    // Written before the status machine existed, and still in the publication registry
+    apply(() -> orderEventProcessor.onOrderStatusUpdated(
+        new OrderStatusUpdated(order.getId(), "PENDING", "PROCESSING")));
+
+    assertEquals(OrderStatus.PENDING, summaryOf(order.getId()).orElseThrow().getStatus());
+  }
+
+  @Test
+  void eventsForDeletedOrdersAreIgnored() {
+    Order order = orderRepository.save(newOrder());
+    orderRepository.deleteById(order.getId());
+
+    apply(() -> projection.orderCreated(order.getId()));
+    apply(() -> projection.statusChanged(order.getId(), OrderStatus.SHIPPED));
+
+    assertTrue(summaryOf(order.getId()).isEmpty());
+  }
+
+  @Test
+  void rebuildRestoresEverySummaryFromTheOrders() {
+    Order order = orderRepository.save(newOrder());
+    apply(() -> projection.statusChanged(order.getId(), OrderStatus.SHIPPED));
+    orderSummaryRepository.deleteAllInBatch();
+
+    int projected = projection.rebuild();
+
+    assertEquals(orderRepository.count(), projected);
+    assertEquals(orderRepository.count(), orderSummaryRepository.count());
+    OrderSummary summary = summaryOf(order.getId()).orElseThrow();
+    assertEquals(OrderStatus.PENDING, summary.getStatus());
+    assertEquals(0, new BigDecimal("27.50").compareTo(summary.getTotalAmount()));
+    Map<OrderStatus, Long> ordersByStatus = new EnumMap<>(OrderStatus.class);
+    for (OrderStatus status : OrderStatus.values()) {
+      ordersByStatus.put(status, 0L);
+    }
+    orderSummaryRepository.countByStatus()
+        .forEach(count -> ordersByStatus.put(count.getStatus(), count.getOrders()));
+    assertEquals(ordersByStatus, orderMetrics.snapshot(0).ordersByStatus());
+  }
+
+  @Test
+  void rebuildLeavesSummariesWrittenByListenersMeanwhileInPlace() {
+    Order order = orderRepository.save(newOrder());
+    orderSummaryRepository.deleteAllInBatch();
+    // A listener projects a new order between the rebuild's delete and its insert
+    apply(() -> projection.statusChanged(order.getId(), OrderStatus.SHIPPED));
+
+    int projected = transactionTemplate.execute(
+        status -> orderSummaryRepository.insertAll(LocalDateTime.now()));
+
+    assertEquals(orderRepository.count() - 1, projected);
+    assertEquals(orderRepository.count(), orderSummaryRepository.count());
+  }
+
+  private Order newOrder() {
+    Customer customer = customerRepository.save(
+        new Customer("Summary Customer", "summary@example.com"));
+    Order order = new Order(customer);
+    order.addLineItem(1L, 2, new BigDecimal("10.00"));
+    order.addLineItem(2L, 3, new BigDecimal("2.50"));
+    return order;
+  }
+
+  private void apply(Runnable update) {
+    transactionTemplate.executeWithoutResult(status -> update.run());
+  }
+
+  private Optional<OrderSummary> summaryOf(Long orderId) {
+    return orderSummaryRepository.findById(orderId);
+  }
+
+  private OrderSummary awaitSummary(Long orderId, OrderStatus status) {
+    await().atMost(Duration.ofSeconds(5)).until(() -> summaryOf(orderId)
+        .filter(summary -> summary.getStatus() == status).isPresent());
+    return summaryOf(orderId).orElseThrow();
+  }
+}
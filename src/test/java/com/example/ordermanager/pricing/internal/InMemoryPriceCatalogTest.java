@@ -0,0 +1,116 @@
+package com.example.ordermanager.pricing.internal;
+
+import com.example.ordermanager.pricing.PriceSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryPriceCatalogTest {
+
+  private static final int ITEMS = 200;
+  private static final int WRITERS = 4;
+  private static final int RELOADS_PER_WRITER = 250;
+  private static final int READERS = 8;
+
+  private final InMemoryPriceCatalog catalog =
+      new InMemoryPriceCatalog(new PricingProperties(new BigDecimal("10.00")));
+
+  @Test
+  void readersNeverSeeAMixOfTwoReloads() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicBoolean writing = new AtomicBoolean(true);
+    Set<Long> versions = ConcurrentHashMap.newKeySet();
+
+    // Every reload prices all items, and the default, the same, so a consistent snapshot has
+    // exactly one distinct price
+    List<Future<?>> writers = new ArrayList<>();
+    for (int writer = 0; writer < WRITERS; writer++) {
+      int id = writer;
+      writers.add(executor.submit(() -> {
+        start.await();
+        for (int reload = 0; reload < RELOADS_PER_WRITER; reload++) {
+          BigDecimal price = BigDecimal.valueOf(id * RELOADS_PER_WRITER + reload, 2);
+          versions.add(catalog.reload(price, pricesOf(price)).version());
+        }
+        return null;
+      }));
+    }
+    List<Future<Integer>> readers = new ArrayList<>();
+    for (int reader = 0; reader < READERS; reader++) {
+      readers.add(executor.submit(() -> {
+        start.await();
+        long lastVersion = 0;
+        int reads = 0;
+        while (writing.get()) {
+          PriceSnapshot snapshot = catalog.current();
+          assertTrue(snapshot.version() >= lastVersion, "Version went backwards");
+          lastVersion = snapshot.version();
+          for (long item = 0; item < ITEMS; item++) {
+            assertEquals(snapshot.defaultPrice(), snapshot.priceOf(item));
+          }
+          reads++;
+        }
+        return reads;
+      }));
+    }
+
+    start.countDown();
+    for (Future<?> writer : writers) {
+      writer.get(30, TimeUnit.SECONDS);
+    }
+    writing.set(false);
+    for (Future<Integer> reader : readers) {
+      assertTrue(reader.get(30, TimeUnit.SECONDS) > 0);
+    }
+    executor.shutdown();
+
+    // Serialized reloads: every reload got its own version and none was lost
+    assertEquals(WRITERS * RELOADS_PER_WRITER, versions.size());
+    assertEquals(1 + WRITERS * RELOADS_PER_WRITER, catalog.current().version());
+  }
+
+  @Test
+  void rejectedReloadKeepsTheCurrentSnapshot() {
+    PriceSnapshot before = catalog.current();
+
+    assertThrows(IllegalArgumentException.class,
+        () -> catalog.reload(null, Map.of(1L, new BigDecimal("-1.00"))));
+    assertThrows(IllegalArgumentException.class,
+        () -> catalog.reload(null, Map.of(1L, new BigDecimal("1.005"))));
+
+    assertEquals(before, catalog.current());
+  }
+
+  @Test
+  void itemsWithoutAPriceFallBackToTheDefault() {
+    PriceSnapshot snapshot = catalog.reload(null, Map.of(1L, new BigDecimal("2.5")));
+
+    assertEquals(new BigDecimal("2.50"), snapshot.priceOf(1L));
+    assertEquals(new BigDecimal("10.00"), snapshot.priceOf(2L));
+  }
+
+  private static Map<Long, BigDecimal> pricesOf(BigDecimal price) {
+    Map<Long, BigDecimal> prices = new HashMap<>();
+    for (long item = 0; item < ITEMS; item++) {
+      prices.put(item, price);
+    }
+    return prices;
+  }
+}